@@ -0,0 +1,27 @@
+package strings;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs all benchmarks of this module with the GC profiler attached, so every result is reported together with its
+ * allocation rate ({@code gc.alloc.rate.norm} is the number of bytes allocated per operation).
+ * <p>
+ * An optional argument restricts the run to the benchmarks matching the given regular expression, e.g.
+ * {@code java --enable-preview -cp target/benchmarks.jar strings.BenchmarkRunner MorseCode}.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : "strings\\..*Benchmark")
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,26 @@
+package strings;
+
+/**
+ * Builds the clear text messages used by the benchmarks. The text mixes upper and lower case letters, digits,
+ * punctuation, umlauts and line separators, so every branch of the encoders is taken.
+ */
+final class BenchmarkText {
+
+    private static final String SAMPLE = "The quick brown fox jumps over the lazy dog. Drachen haben einen großen " +
+                                         "Rachen! Zwölf Boxkämpfer jagen Viktor quer über den Sylter Deich 1234567890?\n";
+
+    private BenchmarkText() {}
+
+    /**
+     * @param length    number of chars
+     * @return          sample text cut to {@code length} chars
+     */
+    static String of(int length) {
+        StringBuilder sb = new StringBuilder(length + SAMPLE.length());
+        while (sb.length() < length) {
+            sb.append(SAMPLE);
+        }
+        sb.setLength(length);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,90 @@
+package strings;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the hot paths of {@link MorseCode}. Every benchmark is parameterised by the length of the clear text
+ * message in characters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class MorseCodeBenchmark {
+
+    private static final AudioFormat CD_QUALITY = new AudioFormat(44100, 16, 1, true, false);
+
+    @Param({"16", "1024", "65536"})
+    public int size;
+
+    private String message;
+    private MorseCode morseCode;
+    private String morseNotation;
+    private String signalNotation;
+    private CharBuffer notationBuffer;
+    private final byte[] audioBuffer = new byte[8 * 1024];
+
+    @Setup
+    public void setup() {
+        message = BenchmarkText.of(size);
+        morseCode = new MorseCode(message);
+        morseNotation = morseCode.getNotation(false);
+        signalNotation = morseCode.getNotation(true);
+        notationBuffer = CharBuffer.allocate(signalNotation.length());
+    }
+
+    @Benchmark
+    public MorseCode construct() { return new MorseCode(message); }
+
+    @Benchmark
+    public String getMorseNotation() { return morseCode.getNotation(false); }
+
+    @Benchmark
+    public String getSignalNotation() { return morseCode.getNotation(true); }
+
+    @Benchmark
+    public CharBuffer getSignalNotationIntoBuffer() { return morseCode.getNotation(true, notationBuffer.clear()); }
+
+    @Benchmark
+    public String getStackedNotation() { return morseCode.getStackedNotation(); }
+
+    @Benchmark
+    public String getSpokenNotation() { return morseCode.getSpokenNotation(); }
+
+    @Benchmark
+    public String decodeMorseNotation() { return MorseCode.decode(morseNotation); }
+
+    @Benchmark
+    public String decodeSignalNotation() { return MorseCode.decode(signalNotation); }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long synthesizeAudio() throws IOException {
+        return drain(morseCode.getAudioInputStream(20, 800));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long synthesizeCdQualityAudio() throws IOException {
+        return drain(morseCode.getAudioInputStream(TimingProfile.of(20), CD_QUALITY, 800));
+    }
+
+    private long drain(AudioInputStream signal) throws IOException {
+        long samples = 0;
+        try (AudioInputStream ais = signal) {
+            int read;
+            while ((read = ais.read(audioBuffer, 0, audioBuffer.length)) != -1) {
+                samples += read;
+            }
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,117 @@
+package strings;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the hot paths of {@link StrSandbox}. Every benchmark is parameterised by the length of its input in
+ * characters. {@code drawGrid} prints to {@code System.out}, which is replaced by a null sink for the duration of the
+ * trial, so the benchmark measures rendering and not the terminal. The forked JVM resolves the Vector API module, so
+ * {@link CaesarCipher} runs vectorized.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "--add-modules", "jdk.incubator.vector"})
+public class StrSandboxBenchmark {
+
+    private static final int WRAP_INDEX = 80;
+    private static final int CAESAR_KEY = 7;
+    private static final int MAX_GRID_COLUMNS = 450;
+    private static final String GRID_PATTERN = "SG";
+    // a million cells, far beyond the limits of drawGrid
+    private static final int LARGE_GRID_ROWS = 1_000;
+    private static final int LARGE_GRID_COLUMNS = 1_000;
+
+    @Param({"16", "1024", "65536"})
+    public int size;
+
+    private String message;
+    private String caesarEncoded;
+    private byte[] caesarBytes;
+    private CaesarCipher caesarCipher;
+    private String decimalEncoded;
+    private DecimalCodec decimalCodec;
+    private Writer nullWriter;
+    private int gridRows;
+    private int gridColumns;
+    private PrintStream systemOut;
+    private GridRenderer gridRenderer;
+    private WritableByteChannel nullChannel;
+
+    @Setup
+    public void setup() {
+        message = BenchmarkText.of(size);
+        caesarEncoded = StrSandbox.encodeCaesarCipher(message, CAESAR_KEY);
+        caesarBytes = message.getBytes(StandardCharsets.UTF_8);
+        caesarCipher = new CaesarCipher(CAESAR_KEY);
+        decimalEncoded = StrSandbox.encodeDecimal(message, true);
+        decimalCodec = new DecimalCodec(true);
+        nullWriter = Writer.nullWriter();
+
+        // every cell prints one char per pattern symbol
+        int cells = Math.max(1, size / GRID_PATTERN.length());
+        gridColumns = Math.min(cells, MAX_GRID_COLUMNS);
+        gridRows = Math.max(1, cells / gridColumns);
+
+        gridRenderer = new GridRenderer('O', ' ', GRID_PATTERN, true);
+        nullChannel = Channels.newChannel(OutputStream.nullOutputStream());
+
+        systemOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(systemOut);
+    }
+
+    @Benchmark
+    public String wrapAt() { return StrSandbox.wrapAt(message, WRAP_INDEX); }
+
+    @Benchmark
+    public String encodeCaesarCipher() { return StrSandbox.encodeCaesarCipher(message, CAESAR_KEY); }
+
+    @Benchmark
+    public String decodeCaesarCipher() { return StrSandbox.decodeCaesarCipher(caesarEncoded, CAESAR_KEY); }
+
+    @Benchmark
+    public byte[] applyCaesarCipherToBytes() {
+        // shifts in place, every invocation encodes the previous result again
+        caesarCipher.apply(caesarBytes, 0, caesarBytes.length);
+        return caesarBytes;
+    }
+
+    @Benchmark
+    public String encodeDecimal() { return StrSandbox.encodeDecimal(message, true); }
+
+    @Benchmark
+    public String decodeDecimal() { return StrSandbox.decodeDecimal(decimalEncoded); }
+
+    @Benchmark
+    public Writer encodeDecimalToWriter() throws IOException { return decimalCodec.encode(message, nullWriter); }
+
+    @Benchmark
+    public int countLettersOrDigits() { return CharClass.count(message, CharClass.LETTER_OR_DIGIT); }
+
+    @Benchmark
+    public void drawGrid() {
+        StrSandbox.drawGrid(gridRows, gridColumns, 'O', ' ', GRID_PATTERN, true);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long renderLargeGrid() throws IOException {
+        return gridRenderer.render(LARGE_GRID_ROWS, LARGE_GRID_COLUMNS, nullChannel);
+    }
+}
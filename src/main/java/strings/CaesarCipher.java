@@ -0,0 +1,176 @@
+package strings;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Bulk Caesar cipher over {@code char[]}, {@code byte[]} and {@code ByteBuffer} ranges, and streaming from file to
+ * file. Only the Latin letters 'A'..'Z' and 'a'..'z' are shifted, keeping their case; every other char or byte is left
+ * as is. Bytes are treated as ASCII compatible text, so UTF-8 passes through unharmed: every byte of a multibyte
+ * sequence is above the ASCII range.
+ * <p>
+ * If the {@code jdk.incubator.vector} module is resolved ({@code --add-modules jdk.incubator.vector}) and the hardware
+ * has vector registers, ranges are processed a whole vector at a time with lane masks. Otherwise, and for the tail of a
+ * range, a scalar loop is used. Both produce identical output.
+ */
+public final class CaesarCipher {
+
+    static final int ALPHABET_LENGTH = 26;
+    // set in lower case ASCII letters, clear in upper case ones
+    static final int CASE_BIT = 0x20;
+    static final boolean IS_VECTORIZED = isVectorApiAvailable();
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final int key;
+    private final int shift;
+
+    /**
+     * @param key   number of letters each letter is shifted by. Negative keys shift backwards.
+     */
+    public CaesarCipher(int key) {
+        this.key = key;
+        this.shift = Math.floorMod(key, ALPHABET_LENGTH);
+    }
+
+    public int getKey() { return key; }
+
+    /**
+     * Returns the cipher that reverts this one.
+     */
+    public CaesarCipher inverse() { return new CaesarCipher(ALPHABET_LENGTH - shift); }
+
+    /**
+     * Returns {@code text} with all Latin letters shifted.
+     */
+    public String apply(CharSequence text) {
+        if (text == null) {
+            throw new IllegalArgumentException("\u001B[31m'text' must not be null\u001B[0m");
+        }
+        final char[] chars = text.toString().toCharArray();
+        apply(chars, 0, chars.length);
+        return new String(chars);
+    }
+
+    /**
+     * Shifts the Latin letters of {@code chars} between {@code from} (inclusive) and {@code to} (exclusive) in place.
+     */
+    public void apply(char[] chars, int from, int to) {
+        if (chars == null) {
+            throw new IllegalArgumentException("\u001B[31m'chars' must not be null\u001B[0m");
+        }
+        Objects.checkFromToIndex(from, to, chars.length);
+        final int tail = IS_VECTORIZED ? CaesarVectors.apply(chars, from, to, shift) : from;
+        applyScalar(chars, tail, to, shift);
+    }
+
+    /**
+     * Shifts the ASCII letters of {@code bytes} between {@code from} (inclusive) and {@code to} (exclusive) in place.
+     */
+    public void apply(byte[] bytes, int from, int to) {
+        if (bytes == null) {
+            throw new IllegalArgumentException("\u001B[31m'bytes' must not be null\u001B[0m");
+        }
+        Objects.checkFromToIndex(from, to, bytes.length);
+        final int tail = IS_VECTORIZED ? CaesarVectors.apply(bytes, from, to, shift) : from;
+        applyScalar(bytes, tail, to, shift);
+    }
+
+    /**
+     * Shifts the ASCII letters between position and limit of {@code buffer} in place. Position and limit are not
+     * changed.
+     */
+    public void apply(ByteBuffer buffer) {
+        if (buffer == null) {
+            throw new IllegalArgumentException("\u001B[31m'buffer' must not be null\u001B[0m");
+        }
+        if (buffer.isReadOnly()) {
+            throw new IllegalArgumentException("\u001B[31m'buffer' must not be read only\u001B[0m");
+        }
+        if (buffer.hasArray()) {
+            final int offset = buffer.arrayOffset();
+            apply(buffer.array(), offset + buffer.position(), offset + buffer.limit());
+            return;
+        }
+        int tail = buffer.position();
+        if (IS_VECTORIZED && buffer.isDirect()) {
+            tail += (int) CaesarVectors.apply(MemorySegment.ofBuffer(buffer), shift);
+        }
+        for (int i = tail; i < buffer.limit(); i++) {
+            buffer.put(i, shift(buffer.get(i), shift));
+        }
+    }
+
+    /**
+     * Reads {@code in} until the end of the stream is reached and writes it with all ASCII letters shifted to
+     * {@code out}. Neither channel is closed.
+     * @return number of bytes written
+     * @throws IOException if reading or writing fails
+     */
+    public long apply(ReadableByteChannel in, WritableByteChannel out) throws IOException {
+        if (in == null || out == null) {
+            throw new IllegalArgumentException("\u001B[31m'in' and 'out' must not be null\u001B[0m");
+        }
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        long written = 0;
+        while (in.read(buffer) != -1) {
+            buffer.flip();
+            apply(buffer);
+            while (buffer.hasRemaining()) {
+                written += out.write(buffer);
+            }
+            buffer.clear();
+        }
+        return written;
+    }
+
+    /**
+     * Streams {@code source} to {@code target} with all ASCII letters shifted. {@code target} is created or
+     * overwritten.
+     * @return number of bytes written
+     * @throws IOException if a file can not be read or written
+     */
+    public long apply(Path source, Path target) throws IOException {
+        if (source == null || target == null) {
+            throw new IllegalArgumentException("\u001B[31m'source' and 'target' must not be null\u001B[0m");
+        }
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                StandardOpenOption.TRUNCATE_EXISTING)) {
+            return apply(in, out);
+        }
+    }
+
+    static void applyScalar(char[] chars, int from, int to, int shift) {
+        for (int i = from; i < to; i++) {
+            chars[i] = (char) shift(chars[i], shift);
+        }
+    }
+
+    static void applyScalar(byte[] bytes, int from, int to, int shift) {
+        for (int i = from; i < to; i++) {
+            bytes[i] = shift(bytes[i], shift);
+        }
+    }
+
+    private static byte shift(byte b, int shift) { return (byte) shift(b & 0xFF, shift); }
+
+    private static int shift(int c, int shift) {
+        final int index = (c | CASE_BIT) - 'a';
+        if (index < 0 || index >= ALPHABET_LENGTH) return c;
+        final int shifted = index + shift;
+        return (shifted >= ALPHABET_LENGTH ? shifted - ALPHABET_LENGTH : shifted) + 'A' | c & CASE_BIT;
+    }
+
+    private static boolean isVectorApiAvailable() {
+        // the incubator module is only resolved if it is added on the command line
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent() && CaesarVectors.isSupported();
+    }
+}
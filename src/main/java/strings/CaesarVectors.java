@@ -0,0 +1,95 @@
+package strings;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteOrder;
+
+/**
+ * SIMD kernels of {@link CaesarCipher}, written with the incubating Vector API. Only loaded if the
+ * {@code jdk.incubator.vector} module is resolved, so the rest of the package runs without it.
+ * <p>
+ * Every lane is classified with a single unsigned compare: setting the case bit maps both 'A'..'Z' and 'a'..'z' to
+ * 'a'..'z', and subtracting 'a' leaves the letters below 26 and every other value above, negative ones included. The
+ * shifted letter gets the case bit of the original lane back, all other lanes are left as they are. Each kernel
+ * processes whole vectors only and returns the index where the scalar tail has to continue.
+ */
+final class CaesarVectors {
+
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Short> CHARS = ShortVector.SPECIES_PREFERRED;
+    // below this size the Vector API falls back to a slow emulation in Java code
+    private static final int MIN_VECTOR_BITS = 128;
+
+    private CaesarVectors() {}
+
+    /**
+     * Returns true if the hardware has vector registers the Vector API can be compiled to.
+     */
+    static boolean isSupported() { return VectorShape.preferredShape().vectorBitSize() >= MIN_VECTOR_BITS; }
+
+    /**
+     * @param shift between 0 and 25
+     * @return      index of the first char that is left for the scalar tail
+     */
+    static int apply(char[] chars, int from, int to, int shift) {
+        final int bound = from + CHARS.loopBound(to - from);
+        int i = from;
+        for (; i < bound; i += CHARS.length()) {
+            shift(ShortVector.fromCharArray(CHARS, chars, i), shift).intoCharArray(chars, i);
+        }
+        return i;
+    }
+
+    /**
+     * @param shift between 0 and 25
+     * @return      index of the first byte that is left for the scalar tail
+     */
+    static int apply(byte[] bytes, int from, int to, int shift) {
+        final int bound = from + BYTES.loopBound(to - from);
+        int i = from;
+        for (; i < bound; i += BYTES.length()) {
+            shift(ByteVector.fromArray(BYTES, bytes, i), shift).intoArray(bytes, i);
+        }
+        return i;
+    }
+
+    /**
+     * @param shift between 0 and 25
+     * @return      offset of the first byte that is left for the scalar tail
+     */
+    static long apply(MemorySegment segment, int shift) {
+        final long bound = BYTES.loopBound(segment.byteSize());
+        long i = 0;
+        for (; i < bound; i += BYTES.length()) {
+            shift(ByteVector.fromMemorySegment(BYTES, segment, i, ByteOrder.nativeOrder()), shift)
+                    .intoMemorySegment(segment, i, ByteOrder.nativeOrder());
+        }
+        return i;
+    }
+
+    private static ByteVector shift(ByteVector v, int shift) {
+        final ByteVector index = v.or((byte) CaesarCipher.CASE_BIT).sub((byte) 'a');
+        final VectorMask<Byte> isLetter = index.compare(VectorOperators.UNSIGNED_LT, CaesarCipher.ALPHABET_LENGTH);
+        ByteVector shifted = index.add((byte) shift);
+        shifted = shifted.sub((byte) CaesarCipher.ALPHABET_LENGTH,
+                              shifted.compare(VectorOperators.GE, CaesarCipher.ALPHABET_LENGTH));
+        final ByteVector letter = shifted.add((byte) 'A').or(v.and((byte) CaesarCipher.CASE_BIT));
+        return v.blend(letter, isLetter);
+    }
+
+    private static ShortVector shift(ShortVector v, int shift) {
+        final ShortVector index = v.or((short) CaesarCipher.CASE_BIT).sub((short) 'a');
+        final VectorMask<Short> isLetter = index.compare(VectorOperators.UNSIGNED_LT, CaesarCipher.ALPHABET_LENGTH);
+        ShortVector shifted = index.add((short) shift);
+        shifted = shifted.sub((short) CaesarCipher.ALPHABET_LENGTH,
+                              shifted.compare(VectorOperators.GE, CaesarCipher.ALPHABET_LENGTH));
+        final ShortVector letter = shifted.add((short) 'A').or(v.and((short) CaesarCipher.CASE_BIT));
+        return v.blend(letter, isLetter);
+    }
+}
@@ -0,0 +1,162 @@
+package strings;
+
+import java.util.Objects;
+
+/**
+ * Constant time classification of chars into upper case letters 'A'..'Z', lower case letters 'a'..'z' and digits
+ * '0'..'9', backed by a table of the ASCII range. Every class is a bit, so a single mask selects any combination of
+ * classes, e.g. {@link #LETTER_OR_DIGIT}. Chars outside of ASCII belong to no class.
+ * <p>
+ * Besides single chars, whole {@code CharSequence}s and {@code char[]} ranges can be counted, searched for the next
+ * run of a class and turned into an array of classes, so codecs and tokenizers can scan runs instead of testing one
+ * char at a time.
+ */
+public final class CharClass {
+
+    public static final int NONE = 0;
+    public static final int UPPER_CASE = 1;
+    public static final int LOWER_CASE = 1 << 1;
+    public static final int DIGIT = 1 << 2;
+    public static final int LETTER = UPPER_CASE | LOWER_CASE;
+    public static final int LETTER_OR_DIGIT = LETTER | DIGIT;
+
+    private static final int ASCII_SIZE = 128;
+    private static final byte[] CLASSES = new byte[ASCII_SIZE];
+
+    static {
+        for (char c = 'A'; c <= 'Z'; c++) CLASSES[c] = UPPER_CASE;
+        for (char c = 'a'; c <= 'z'; c++) CLASSES[c] = LOWER_CASE;
+        for (char c = '0'; c <= '9'; c++) CLASSES[c] = DIGIT;
+    }
+
+    private CharClass() {}
+
+    /**
+     * Returns the class of {@code c}, one of {@link #UPPER_CASE}, {@link #LOWER_CASE}, {@link #DIGIT} or
+     * {@link #NONE}.
+     */
+    public static int of(char c) { return c < ASCII_SIZE ? CLASSES[c] : NONE; }
+
+    /**
+     * Returns true if {@code c} belongs to one of the classes in {@code mask}.
+     */
+    public static boolean is(char c, int mask) { return c < ASCII_SIZE && (CLASSES[c] & mask) != 0; }
+
+    /**
+     * Returns the number of chars in {@code text} that belong to one of the classes in {@code mask}.
+     */
+    public static int count(CharSequence text, int mask) {
+        requireNonNull(text);
+        int count = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (is(text.charAt(i), mask)) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of chars between {@code from} (inclusive) and {@code to} (exclusive) that belong to one of the
+     * classes in {@code mask}.
+     */
+    public static int count(char[] chars, int from, int to, int mask) {
+        requireRange(chars, from, to);
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (is(chars[i], mask)) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the index of the first char at or after {@code from} that belongs to one of the classes in
+     * {@code mask}, or -1 if there is none. Together with {@link #runEnd(CharSequence, int, int)} it finds the next
+     * run of a class.
+     */
+    public static int indexOf(CharSequence text, int from, int mask) {
+        requireNonNull(text);
+        Objects.checkFromToIndex(from, text.length(), text.length());
+        for (int i = from; i < text.length(); i++) {
+            if (is(text.charAt(i), mask)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first char between {@code from} (inclusive) and {@code to} (exclusive) that belongs
+     * to one of the classes in {@code mask}, or -1 if there is none.
+     */
+    public static int indexOf(char[] chars, int from, int to, int mask) {
+        requireRange(chars, from, to);
+        for (int i = from; i < to; i++) {
+            if (is(chars[i], mask)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the end (exclusive) of the run of chars starting at {@code from} that belong to one of the classes in
+     * {@code mask}, which is {@code from} itself if the char at {@code from} does not.
+     */
+    public static int runEnd(CharSequence text, int from, int mask) {
+        requireNonNull(text);
+        Objects.checkFromToIndex(from, text.length(), text.length());
+        int i = from;
+        while (i < text.length() && is(text.charAt(i), mask)) i++;
+        return i;
+    }
+
+    /**
+     * Returns the end (exclusive) of the run of chars starting at {@code from} that belong to one of the classes in
+     * {@code mask}, at most {@code to}.
+     */
+    public static int runEnd(char[] chars, int from, int to, int mask) {
+        requireRange(chars, from, to);
+        int i = from;
+        while (i < to && is(chars[i], mask)) i++;
+        return i;
+    }
+
+    /**
+     * Returns the class of every char in {@code text}, see {@link #of(char)}.
+     */
+    public static byte[] classify(CharSequence text) {
+        requireNonNull(text);
+        final byte[] classes = new byte[text.length()];
+        for (int i = 0; i < classes.length; i++) {
+            final char c = text.charAt(i);
+            classes[i] = c < ASCII_SIZE ? CLASSES[c] : NONE;
+        }
+        return classes;
+    }
+
+    /**
+     * Writes the class of every char between {@code from} (inclusive) and {@code to} (exclusive) to {@code classes},
+     * starting at index 0, so the array can be reused for consecutive ranges.
+     * @return {@code classes}
+     */
+    public static byte[] classify(char[] chars, int from, int to, byte[] classes) {
+        requireRange(chars, from, to);
+        if (classes == null) {
+            throw new IllegalArgumentException("\u001B[31m'classes' must not be null\u001B[0m");
+        }
+        Objects.checkFromIndexSize(0, to - from, classes.length);
+        for (int i = from; i < to; i++) {
+            final char c = chars[i];
+            classes[i - from] = c < ASCII_SIZE ? CLASSES[c] : NONE;
+        }
+        return classes;
+    }
+
+    private static void requireNonNull(CharSequence text) {
+        if (text == null) {
+            throw new IllegalArgumentException("\u001B[31m'text' must not be null\u001B[0m");
+        }
+    }
+
+    private static void requireRange(char[] chars, int from, int to) {
+        if (chars == null) {
+            throw new IllegalArgumentException("\u001B[31m'chars' must not be null\u001B[0m");
+        }
+        Objects.checkFromToIndex(from, to, chars.length);
+    }
+}
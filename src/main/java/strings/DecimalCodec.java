@@ -0,0 +1,258 @@
+package strings;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * Streaming counterpart to {@link StrSandbox#encodeDecimal(String, boolean)} and
+ * {@link StrSandbox#decodeDecimal(String)}. Text is read from a {@code CharSequence} or {@code Reader} in a single
+ * pass and written to an {@code Appendable} in blocks of {@value #BUFFER_SIZE} chars. Every char is translated by a
+ * table lookup and nothing is allocated per char, so files of any size can be processed with constant memory.
+ * <p>
+ * Encoding writes 'A'..'Z' as "01".."26", 'a'..'z' as "27".."52" and '0'..'9' as "53".."62", with a
+ * '{@value #SEPARATOR}' between two adjacent codes. All other chars are kept unchanged. Decoding reads every pair of
+ * digits as a code and drops a '{@value #SEPARATOR}' that stands alone between two codes.
+ */
+public final class DecimalCodec {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final char SEPARATOR = '-';
+    private static final int ASCII_SIZE = 128;
+    private static final int NO_CODE = 0;
+    private static final int FIRST_UPPER_CASE_CODE = 1;
+    private static final int FIRST_LOWER_CASE_CODE = 27;
+    private static final int FIRST_DIGIT_CODE = 53;
+    private static final int CODE_COUNT = 100;
+
+    // code of every ASCII char, NO_CODE for chars that are kept unchanged
+    private static final byte[] MIXED_CASE_CODES = new byte[ASCII_SIZE];
+    private static final byte[] UPPER_CASE_CODES = new byte[ASCII_SIZE];
+    // char of every two digit code
+    private static final char[] DECODED = new char[CODE_COUNT];
+
+    static {
+        for (int i = 0; i < 26; i++) {
+            MIXED_CASE_CODES['A' + i] = (byte) (FIRST_UPPER_CASE_CODE + i);
+            MIXED_CASE_CODES['a' + i] = (byte) (FIRST_LOWER_CASE_CODE + i);
+            UPPER_CASE_CODES['A' + i] = (byte) (FIRST_UPPER_CASE_CODE + i);
+            UPPER_CASE_CODES['a' + i] = (byte) (FIRST_UPPER_CASE_CODE + i);
+        }
+        for (int i = 0; i < 10; i++) {
+            MIXED_CASE_CODES['0' + i] = (byte) (FIRST_DIGIT_CODE + i);
+            UPPER_CASE_CODES['0' + i] = (byte) (FIRST_DIGIT_CODE + i);
+        }
+        // codes out of range decode to the char with their value, "00" to the char before 'A'
+        for (int code = 0; code < CODE_COUNT; code++) {
+            if (code < FIRST_LOWER_CASE_CODE) DECODED[code] = (char) ('A' + code - FIRST_UPPER_CASE_CODE);
+            else if (code < FIRST_DIGIT_CODE) DECODED[code] = (char) ('a' + code - FIRST_LOWER_CASE_CODE);
+            else if (code < FIRST_DIGIT_CODE + 10) DECODED[code] = (char) ('0' + code - FIRST_DIGIT_CODE);
+            else DECODED[code] = (char) code;
+        }
+    }
+
+    private enum Piece { EMPTY, SEPARATOR, TEXT }
+
+    private final byte[] codes;
+    private final boolean isUpperCasing;
+
+    // output block
+    private final char[] block = new char[BUFFER_SIZE];
+    private final CharBuffer blockView = CharBuffer.wrap(block);
+    private int blockLength = 0;
+
+    // encoder state, kept across buffer boundaries
+    private boolean isAfterCode = false;
+
+    // decoder state, kept across buffer boundaries
+    private int pendingDigit = -1;
+    private Piece piece = Piece.EMPTY;
+
+    /**
+     * @param includeLowerCase  encode lower case or treat every letter as upper case
+     */
+    public DecimalCodec(boolean includeLowerCase) {
+        this.codes = includeLowerCase ? MIXED_CASE_CODES : UPPER_CASE_CODES;
+        this.isUpperCasing = !includeLowerCase;
+    }
+
+    /**
+     * Encodes a whole message and writes it to {@code out}.
+     * @param message   clear text
+     * @param out       destination of the encoded message
+     * @return          {@code out}
+     * @throws IOException if {@code out} can not be written to
+     */
+    public <A extends Appendable> A encode(CharSequence message, A out) throws IOException {
+        if (message == null || out == null) {
+            throw new IllegalArgumentException("\u001B[31m'message' and 'out' must not be null\u001B[0m");
+        }
+        isAfterCode = false;
+        blockLength = 0;
+        for (int i = 0; i < message.length(); i++) {
+            encode(message.charAt(i), out);
+        }
+        flush(out);
+        return out;
+    }
+
+    /**
+     * Reads the message from {@code in} until the end of the stream is reached and writes it encoded to {@code out}.
+     * The reader is not closed.
+     * @param in    source of the clear text
+     * @param out   destination of the encoded message
+     * @return      {@code out}
+     * @throws IOException if reading from {@code in} or writing to {@code out} fails
+     */
+    public <A extends Appendable> A encode(Reader in, A out) throws IOException {
+        if (in == null || out == null) {
+            throw new IllegalArgumentException("\u001B[31m'in' and 'out' must not be null\u001B[0m");
+        }
+        isAfterCode = false;
+        blockLength = 0;
+        final char[] buffer = new char[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer, 0, buffer.length)) != -1) {
+            for (int i = 0; i < read; i++) {
+                encode(buffer[i], out);
+            }
+        }
+        flush(out);
+        return out;
+    }
+
+    /**
+     * Decodes a whole message and writes it to {@code out}.
+     * @param encodedMessage    encoded message
+     * @param out               destination of the clear text
+     * @return                  {@code out}
+     * @throws IOException if {@code out} can not be written to
+     */
+    public <A extends Appendable> A decode(CharSequence encodedMessage, A out) throws IOException {
+        if (encodedMessage == null || out == null) {
+            throw new IllegalArgumentException("\u001B[31m'encodedMessage' and 'out' must not be null\u001B[0m");
+        }
+        pendingDigit = -1;
+        piece = Piece.EMPTY;
+        blockLength = 0;
+        for (int i = 0; i < encodedMessage.length(); i++) {
+            decode(encodedMessage.charAt(i), out);
+        }
+        finishDecoding(out);
+        return out;
+    }
+
+    /**
+     * Reads an encoded message from {@code in} until the end of the stream is reached and writes it decoded to
+     * {@code out}. The reader is not closed.
+     * @param in    source of the encoded message
+     * @param out   destination of the clear text
+     * @return      {@code out}
+     * @throws IOException if reading from {@code in} or writing to {@code out} fails
+     */
+    public <A extends Appendable> A decode(Reader in, A out) throws IOException {
+        if (in == null || out == null) {
+            throw new IllegalArgumentException("\u001B[31m'in' and 'out' must not be null\u001B[0m");
+        }
+        pendingDigit = -1;
+        piece = Piece.EMPTY;
+        blockLength = 0;
+        final char[] buffer = new char[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer, 0, buffer.length)) != -1) {
+            for (int i = 0; i < read; i++) {
+                decode(buffer[i], out);
+            }
+        }
+        finishDecoding(out);
+        return out;
+    }
+
+    private void encode(char c, Appendable out) throws IOException {
+        if (c >= ASCII_SIZE) {
+            // upper case forms like "SS" of 'ß' may hold ASCII letters, the only allocation and only outside ASCII
+            final String upperCase = isUpperCasing ? String.valueOf(c).toUpperCase() : null;
+            if (upperCase != null && (upperCase.length() != 1 || upperCase.charAt(0) != c)) {
+                for (int i = 0; i < upperCase.length(); i++) {
+                    encode(upperCase.charAt(i), out);
+                }
+                return;
+            }
+            put(c, out);
+            isAfterCode = false;
+            return;
+        }
+
+        final int code = codes[c];
+        if (code == NO_CODE) {
+            put(c, out);
+            isAfterCode = false;
+            return;
+        }
+        if (isAfterCode) put(SEPARATOR, out);
+        put((char) ('0' + code / 10), out);
+        put((char) ('0' + code % 10), out);
+        isAfterCode = true;
+    }
+
+    private void decode(char c, Appendable out) throws IOException {
+        if (c >= '0' && c <= '9') {
+            if (pendingDigit < 0) {
+                pendingDigit = c - '0';
+                return;
+            }
+            // a separator that stands alone between two codes is dropped
+            piece = Piece.EMPTY;
+            put(DECODED[pendingDigit * 10 + c - '0'], out);
+            pendingDigit = -1;
+            return;
+        }
+        if (pendingDigit >= 0) {
+            putText((char) ('0' + pendingDigit), out);
+            pendingDigit = -1;
+        }
+        putText(c, out);
+    }
+
+    private void finishDecoding(Appendable out) throws IOException {
+        if (pendingDigit >= 0) putText((char) ('0' + pendingDigit), out);
+        pendingDigit = -1;
+        piece = Piece.EMPTY;
+        flush(out);
+    }
+
+    /**
+     * Writes a char that is not part of a code. A separator at the start of the text between two codes is held back
+     * until it is clear whether it stands alone.
+     */
+    private void putText(char c, Appendable out) throws IOException {
+        switch (piece) {
+            case EMPTY -> {
+                if (c == SEPARATOR) {
+                    piece = Piece.SEPARATOR;
+                    return;
+                }
+            }
+            case SEPARATOR -> put(SEPARATOR, out);
+            case TEXT -> {}
+        }
+        piece = Piece.TEXT;
+        put(c, out);
+    }
+
+    private void put(char c, Appendable out) throws IOException {
+        if (blockLength == block.length) flush(out);
+        block[blockLength++] = c;
+    }
+
+    private void flush(Appendable out) throws IOException {
+        if (blockLength == 0) return;
+        switch (out) {
+            case StringBuilder sb -> sb.append(block, 0, blockLength);
+            case Writer writer -> writer.write(block, 0, blockLength);
+            default -> out.append(blockView, 0, blockLength);
+        }
+        blockLength = 0;
+    }
+}
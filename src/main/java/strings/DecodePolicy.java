@@ -0,0 +1,19 @@
+package strings;
+
+/**
+ * What a {@link MorseDecoder} does with a token that is not a valid Morse code letter.
+ */
+public enum DecodePolicy {
+
+    /** The token is dropped from the clear text. */
+    SKIP,
+    /** The token is replaced by {@value #REPLACEMENT} in the clear text. */
+    REPLACE,
+    /** Decoding stops with an {@code IllegalArgumentException}. */
+    FAIL_FAST;
+
+    /**
+     * Placeholder for invalid tokens with the {@link #REPLACE} policy, the Unicode replacement character.
+     */
+    public static final char REPLACEMENT = '\uFFFD';
+}
@@ -0,0 +1,36 @@
+package strings;
+
+import java.util.List;
+
+/**
+ * Clear text of a decoded message together with the tokens that could not be decoded. Only the first
+ * {@value #MAX_REPORTED_TOKENS} invalid tokens are kept, so the result stays small even for long malformed input;
+ * {@code invalidTokenCount} counts all of them.
+ * @param text                  decoded clear text
+ * @param invalidTokens         position and content of the first invalid tokens, in input order
+ * @param invalidTokenCount     total number of invalid tokens
+ * @see MorseCode#decode(String, DecodePolicy)
+ */
+public record DecodeResult(String text, List<InvalidToken> invalidTokens, long invalidTokenCount) {
+
+    public static final int MAX_REPORTED_TOKENS = 1024;
+
+    /**
+     * A token that could not be decoded.
+     * @param position  index of the first char of the token in the input
+     * @param token     the token as found in the input, cut off after 32 chars
+     */
+    public record InvalidToken(long position, String token) {}
+
+    public DecodeResult {
+        if (text == null || invalidTokens == null) {
+            throw new IllegalArgumentException("\u001B[31m'text' and 'invalidTokens' must not be null\u001B[0m");
+        }
+        invalidTokens = List.copyOf(invalidTokens);
+    }
+
+    /**
+     * Returns true if the whole input has been decoded.
+     */
+    public boolean isValid() { return invalidTokenCount == 0; }
+}
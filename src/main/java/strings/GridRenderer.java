@@ -0,0 +1,242 @@
+package strings;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Renders the grids of {@link StrSandbox#drawGrid(int, int, char, char, String, boolean)} into any
+ * {@code Appendable}, {@code Writer} or {@code WritableByteChannel}. The output is identical to what
+ * {@code drawGrid} prints: a line separator in front of every row and one after the last row.
+ * <p>
+ * The pattern is laid out once as a row template that holds both the pattern and its offset variant. Rows are
+ * assembled from bulk copies of that template in a reusable buffer, which is handed to the destination in blocks of
+ * {@value #BUFFER_SIZE} chars, so a grid of millions of cells takes only a few large writes.
+ */
+public final class GridRenderer {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // UTF-8 needs up to three bytes for a char of the basic multilingual plane
+    private static final int MAX_BYTES_PER_CHAR = 3;
+    private static final char[] LINE_SEPARATOR = System.lineSeparator().toCharArray();
+
+    // the pattern repeated, plus its first char once more. Rows start at 0, offset rows at 1.
+    private final char[] template;
+    private final int patternLength;
+    private final boolean useEvenOffset;
+    private final int maxRows;
+    private final int maxColumns;
+
+    /**
+     * Creates a renderer without limits on the grid size.
+     * @param gridChar          character used to fill the grid
+     * @param separator         character used as separator
+     * @param pattern           arrangement of grid and separator chars, see
+     *                          {@link StrSandbox#drawGrid(int, int, char, char, String, boolean)}
+     * @param useEvenOffset     used to offset the pattern in even rows
+     * @throws IllegalArgumentException if the pattern is null or does not contain any valid characters
+     */
+    public GridRenderer(char gridChar, char separator, String pattern, boolean useEvenOffset) {
+        if (pattern == null) {
+            throw new IllegalArgumentException("\u001B[31m'pattern' must not be null\u001B[0m");
+        }
+        final String cells = StrSandbox.sanitizePattern(pattern);
+        if (cells.isEmpty()) {
+            throw new IllegalArgumentException(
+                    STR."\u001B[31mPattern '\{pattern}' doesn't contain any valid characters\u001B[0m");
+        }
+        this.patternLength = cells.length();
+        this.useEvenOffset = useEvenOffset;
+        this.maxRows = Integer.MAX_VALUE;
+        this.maxColumns = Integer.MAX_VALUE;
+
+        // a whole number of patterns close to the buffer size, so long rows are copied in a few steps
+        final int repetitions = Math.max(1, BUFFER_SIZE / patternLength);
+        this.template = new char[repetitions * patternLength + 1];
+        for (int i = 0; i < template.length; i++) {
+            template[i] = cells.charAt(i % patternLength) == StrSandbox.DEFAULT_GRID_SYMBOL ? gridChar : separator;
+        }
+    }
+
+    /**
+     * Returns a renderer for the same grid that clamps rows and columns at the given limits.
+     * @param maxRows       largest number of rows rendered
+     * @param maxColumns    largest number of columns rendered
+     */
+    public GridRenderer withLimits(int maxRows, int maxColumns) {
+        return new GridRenderer(template, patternLength, useEvenOffset, maxRows, maxColumns);
+    }
+
+    private GridRenderer(char[] template, int patternLength, boolean useEvenOffset, int maxRows, int maxColumns) {
+        if (maxRows < 0 || maxColumns < 0) {
+            throw new IllegalArgumentException("\u001B[31m'maxRows' and 'maxColumns' must not be negative\u001B[0m");
+        }
+        this.template = template;
+        this.patternLength = patternLength;
+        this.useEvenOffset = useEvenOffset;
+        this.maxRows = maxRows;
+        this.maxColumns = maxColumns;
+    }
+
+    public int getMaxRows() { return maxRows; }
+
+    public int getMaxColumns() { return maxColumns; }
+
+    /**
+     * Returns the number of chars of a rendered grid.
+     * @param rows      number of rows, negative values count like positive ones. Clamps at the row limit.
+     * @param columns   number of columns, negative values count like positive ones. Clamps at the column limit.
+     * @return          number of chars, {@code Long.MAX_VALUE} if it does not fit into a long
+     */
+    public long length(int rows, int columns) {
+        final int rowsClamped = clamp(rows, maxRows);
+        final int columnsClamped = clamp(columns, maxColumns);
+        if (rowsClamped == 0 || columnsClamped == 0) return LINE_SEPARATOR.length;
+        try {
+            final long cells = Math.multiplyExact((long) rowsClamped * columnsClamped, patternLength);
+            return Math.addExact((rowsClamped + 1L) * LINE_SEPARATOR.length, cells);
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Returns the grid as a String.
+     * @param rows      number of rows, negative values count like positive ones. Clamps at the row limit.
+     * @param columns   number of columns, negative values count like positive ones. Clamps at the column limit.
+     * @throws OutOfMemoryError if the grid does not fit into a String
+     */
+    public String render(int rows, int columns) {
+        final long length = length(rows, columns);
+        if (length > Integer.MAX_VALUE - 8) throw new OutOfMemoryError("Grid is too large for a String");
+        StringBuilder sb = new StringBuilder((int) length);
+        try {
+            render(rows, columns, sb);
+        } catch (IOException e) {
+            // StringBuilder does not throw
+            throw new AssertionError(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Appends the grid to {@code out}. A {@code StringBuilder} or {@code Writer} receives whole blocks of chars, any
+     * other {@code Appendable} a {@code CharSequence} view of them. {@code out} is neither flushed nor closed.
+     * @param rows      number of rows, negative values count like positive ones. Clamps at the row limit.
+     * @param columns   number of columns, negative values count like positive ones. Clamps at the column limit.
+     * @param out       destination of the grid
+     * @return          {@code out}
+     * @throws IOException if {@code out} can not be written to
+     */
+    public <A extends Appendable> A render(int rows, int columns, A out) throws IOException {
+        if (out == null) {
+            throw new IllegalArgumentException("\u001B[31m'out' must not be null\u001B[0m");
+        }
+        final Block block = new Block();
+        final CharBuffer view = CharBuffer.wrap(block.chars);
+        render(rows, columns, block, length -> {
+            switch (out) {
+                case StringBuilder sb -> sb.append(block.chars, 0, length);
+                case Writer writer -> writer.write(block.chars, 0, length);
+                default -> out.append(view, 0, length);
+            }
+        });
+        return out;
+    }
+
+    /**
+     * Writes the grid to {@code channel} as UTF-8. The channel is not closed.
+     * @param rows      number of rows, negative values count like positive ones. Clamps at the row limit.
+     * @param columns   number of columns, negative values count like positive ones. Clamps at the column limit.
+     * @param channel   destination of the grid
+     * @return          number of bytes written
+     * @throws IOException if writing to {@code channel} fails
+     */
+    public long render(int rows, int columns, WritableByteChannel channel) throws IOException {
+        if (channel == null) {
+            throw new IllegalArgumentException("\u001B[31m'channel' must not be null\u001B[0m");
+        }
+        final Block block = new Block();
+        final CharBuffer view = CharBuffer.wrap(block.chars);
+        final ByteBuffer bytes = ByteBuffer.allocateDirect(BUFFER_SIZE * MAX_BYTES_PER_CHAR);
+        final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        final long[] written = {0};
+        render(rows, columns, block, length -> {
+            view.clear().limit(length);
+            bytes.clear();
+            // a block always fits, as the byte buffer is sized for the longest encoding
+            encoder.encode(view, bytes, true);
+            encoder.reset();
+            bytes.flip();
+            while (bytes.hasRemaining()) {
+                written[0] += channel.write(bytes);
+            }
+        });
+        return written[0];
+    }
+
+    private void render(int rows, int columns, Block block, Sink sink) throws IOException {
+        final int rowsClamped = clamp(rows, maxRows);
+        final int columnsClamped = clamp(columns, maxColumns);
+        if (rowsClamped != 0 && columnsClamped != 0) {
+            final long rowLength = (long) columnsClamped * patternLength;
+            for (int row = 0; row < rowsClamped; row++) {
+                block.put(LINE_SEPARATOR, 0, LINE_SEPARATOR.length, sink);
+                // rows are counted from 1 in drawGrid, so even rows have an odd index here
+                final int start = useEvenOffset && row % 2 == 1 ? 1 : 0;
+                for (long remaining = rowLength; remaining > 0; ) {
+                    final int length = (int) Math.min(remaining, template.length - 1);
+                    block.put(template, start, length, sink);
+                    remaining -= length;
+                }
+            }
+        }
+        block.put(LINE_SEPARATOR, 0, LINE_SEPARATOR.length, sink);
+        block.flush(sink);
+    }
+
+    private static int clamp(int value, int max) {
+        // Math.abs(Integer.MIN_VALUE) stays negative
+        return Math.min(Math.max(0, Math.abs(value)), max);
+    }
+
+    /**
+     * Receives the first {@code length} chars of the block buffer.
+     */
+    @FunctionalInterface
+    private interface Sink {
+        void write(int length) throws IOException;
+    }
+
+    /**
+     * Reusable buffer the grid is assembled in.
+     */
+    private static final class Block {
+        private final char[] chars = new char[BUFFER_SIZE];
+        private int length = 0;
+
+        void put(char[] src, int offset, int count, Sink sink) throws IOException {
+            while (count > 0) {
+                if (length == chars.length) flush(sink);
+                final int n = Math.min(count, chars.length - length);
+                System.arraycopy(src, offset, chars, length, n);
+                length += n;
+                offset += n;
+                count -= n;
+            }
+        }
+
+        void flush(Sink sink) throws IOException {
+            if (length == 0) return;
+            sink.write(length);
+            length = 0;
+        }
+    }
+}
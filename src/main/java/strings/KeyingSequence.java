@@ -0,0 +1,86 @@
+package strings;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import strings.MorseCode.MorseNotation;
+
+/**
+ * Walks a list of {@code MorseNotation} entries as the sequence of marks and gaps a transmitter would key. This is the
+ * same timing as the signal notation returned by {@link MorseCode#getNotation(boolean)}, but without expanding it into
+ * a String first. Line separators are keyed as a word gap.
+ */
+final class KeyingSequence {
+
+    /**
+     * A single keying element and its length in dit units.
+     */
+    enum Element {
+        DIT(true, 1), DAH(true, 3), SYMBOL_GAP(false, 1), LETTER_GAP(false, 3), WORD_GAP(false, 7);
+
+        final boolean isMark;
+        final int units;
+
+        Element(boolean isMark, int units) {
+            this.isMark = isMark;
+            this.units = units;
+        }
+    }
+
+    private final List<MorseNotation> literals;
+    private int index = 0;
+    // position inside the current notation, -1 while the gap in front of it has not been keyed yet
+    private int position = -1;
+    private Element next;
+
+    KeyingSequence(List<MorseNotation> literals) {
+        this.literals = literals;
+        this.next = advance();
+    }
+
+    boolean hasNext() { return next != null; }
+
+    Element next() {
+        if (next == null) throw new NoSuchElementException();
+        Element current = next;
+        next = advance();
+        return current;
+    }
+
+    private Element advance() {
+        while (index < literals.size()) {
+            MorseNotation current = literals.get(index);
+
+            if (position == -1) {
+                position = 0;
+                // letters are separated by a letter gap, unless one of them is a white space
+                boolean isGapped = index > 0 && !MorseNotation.isWhiteSpace(literals.get(index - 1)) &&
+                                   !MorseNotation.isWhiteSpace(current);
+                if (isGapped) return Element.LETTER_GAP;
+            }
+
+            if (position < elementCount(current)) {
+                return elementAt(current, position++);
+            }
+            index++;
+            position = -1;
+        }
+        return null;
+    }
+
+    private static Element elementAt(MorseNotation mn, int position) {
+        if (MorseNotation.isWhiteSpace(mn)) return Element.WORD_GAP;
+        // marks are at even positions, the gaps between them at odd positions
+        if (position % 2 == 1) return Element.SYMBOL_GAP;
+        return mn.sequence.charAt(position / 2) == '_' ? Element.DAH : Element.DIT;
+    }
+
+    private static int elementCount(MorseNotation mn) {
+        return switch (mn) {
+            case WHITE_SPACE, NEWLINE -> 1;
+            case TAB -> 3;
+            case RETURN, NONE -> 0;
+            default -> mn.sequence.length() * 2 - 1;
+        };
+    }
+}
@@ -0,0 +1,221 @@
+package strings;
+
+import java.text.Normalizer;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+import strings.MorseCode.MorseNotation;
+
+/**
+ * Morse code tables of the supported alphabets. Digits, punctuation and prosigns are shared by all alphabets, and the
+ * alphabets of other scripts fall back to the Latin letters, so Latin text can be keyed in every alphabet. Where
+ * patterns collide, the letters of the alphabet win when decoding; the shared entries are still keyed with their own
+ * pattern.
+ * <p>
+ * Every alphabet compiles to the same lookup structure: a table indexed by char for Latin-1, a second one for the
+ * Unicode block of its script, and a table indexed by the packed dot/dash code (see {@link MorseNotation#code()}).
+ * Looking up a character or a pattern is a single array access in every alphabet. Lower case letters, letters with
+ * diacritics that have no code of their own (e.g. 'Ё' or 'ά'), hiragana and small kana resolve to the entry of their
+ * base letter when the tables are built. Other chars outside of Latin-1 and the block resolve to their upper case form
+ * when looked up.
+ */
+public enum MorseAlphabet {
+
+    /** International (ITU) Morse code with the common Latin extensions like 'Ä', 'É' or 'Ñ'. */
+    LATIN(EnumSet.range(MorseNotation.A, MorseNotation.NY), '\u0000', '\u0000', ""),
+    /** Latin alphabet that keys "CH" as a single letter. */
+    GERMAN(EnumSet.range(MorseNotation.A, MorseNotation.NY), '\u0000', '\u0000', ""),
+    /** Russian Morse code. */
+    CYRILLIC(EnumSet.range(MorseNotation.CYR_A, MorseNotation.CYR_YA), 'Ѐ', 'Ѡ', ""),
+    /** Greek Morse code. */
+    GREEK(EnumSet.range(MorseNotation.GR_ALPHA, MorseNotation.GR_OMEGA), 'Ͱ', 'Ѐ', ""),
+    /**
+     * Japanese Wabun code. Voiced kana are keyed as their base kana followed by the dakuten or handakuten mark.
+     */
+    WABUN(EnumSet.range(MorseNotation.WA_I, MorseNotation.WA_TOUTEN), '぀', '㄀',
+          // small kana and combining voicing marks
+          "ァアィイゥウェエォオッツャヤュユョヨヮワヵカヶゲ゛゚゜");
+
+    private static final int LATIN_1_SIZE = 256;
+    // letters looked at by detect(), enough to tell the scripts apart
+    private static final int DETECTION_SAMPLE = 1024;
+    private static final char HIRAGANA_START = 'ぁ';
+    private static final char HIRAGANA_END = '゗';
+    private static final int HIRAGANA_TO_KATAKANA = 0x60;
+
+    private final MorseNotation[] latin1 = new MorseNotation[LATIN_1_SIZE];
+    private final char blockStart;
+    private final MorseNotation[] block;
+    // mark keyed after the letter of a block char, e.g. the dakuten of 'ガ'
+    private final MorseNotation[] marks;
+    private final MorseNotation[] sequences = new MorseNotation[2 << MorseNotation.MAX_SEQUENCE_LENGTH];
+
+    /**
+     * @param letters       letters of the alphabet. Take precedence over shared and Latin entries with the same
+     *                      pattern when decoding.
+     * @param blockStart    first char of the Unicode block of the script
+     * @param blockEnd      char after the Unicode block of the script
+     * @param aliases       pairs of chars, the first one is looked up as the second one
+     */
+    MorseAlphabet(Set<MorseNotation> letters, char blockStart, char blockEnd, String aliases) {
+        this.blockStart = blockStart;
+        this.block = new MorseNotation[blockEnd - blockStart];
+        this.marks = new MorseNotation[blockEnd - blockStart];
+
+        for (MorseNotation mn : letters) add(mn);
+        for (MorseNotation mn : EnumSet.range(MorseNotation._0, MorseNotation._9)) add(mn);
+        for (MorseNotation mn : EnumSet.range(MorseNotation.AAA, MorseNotation.HH)) add(mn);
+        for (MorseNotation mn : EnumSet.range(MorseNotation.WHITE_SPACE, MorseNotation.TAB)) put(mn.literal, mn);
+        if (!letters.contains(MorseNotation.A)) {
+            for (MorseNotation mn : EnumSet.range(MorseNotation.A, MorseNotation.NY)) add(mn);
+        }
+
+        for (int i = 0; i < aliases.length(); i += 2) {
+            set(aliases.charAt(i), get(aliases.charAt(i + 1)));
+        }
+        for (char c = blockStart; c < blockEnd; c++) {
+            if (get(c) == null) derive(c);
+        }
+    }
+
+    /**
+     * Returns the alphabet of a language. Russian, Ukrainian, Belarusian, Bulgarian and Serbian use the Cyrillic
+     * alphabet, Greek the Greek one, Japanese the Wabun code, German the German variant of the Latin alphabet and all
+     * other languages the Latin alphabet.
+     */
+    public static MorseAlphabet of(Locale language) {
+        if (language == null) {
+            throw new IllegalArgumentException("\u001B[31m'language' must not be null\u001B[0m");
+        }
+        return switch (language.getLanguage()) {
+            case "de" -> GERMAN;
+            case "ru", "uk", "be", "bg", "sr" -> CYRILLIC;
+            case "el" -> GREEK;
+            case "ja" -> WABUN;
+            default -> LATIN;
+        };
+    }
+
+    /**
+     * Chooses the alphabet of a message from the script of its letters. Only the first {@value #DETECTION_SAMPLE}
+     * letters are looked at, in a single pass. {@link #GERMAN} is never chosen, as it only differs from the Latin
+     * alphabet in how "CH" is keyed, which can not be told from the text; use {@link #of(Locale)} for it.
+     * @param message   clear text
+     * @return          the alphabet of the script with the most letters, {@link #LATIN} if there are no letters
+     */
+    public static MorseAlphabet detect(CharSequence message) {
+        if (message == null) {
+            throw new IllegalArgumentException("\u001B[31m'message' must not be null\u001B[0m");
+        }
+        int latin = 0;
+        int cyrillic = 0;
+        int greek = 0;
+        int kana = 0;
+        for (int i = 0; i < message.length() && latin + cyrillic + greek + kana < DETECTION_SAMPLE; i++) {
+            char c = message.charAt(i);
+            if (c < LATIN_1_SIZE) {
+                if (Character.isLetter(c)) latin++;
+            } else if (CYRILLIC.isInBlock(c)) {
+                cyrillic++;
+            } else if (GREEK.isInBlock(c)) {
+                greek++;
+            } else if (WABUN.isInBlock(c)) {
+                kana++;
+            }
+        }
+
+        if (cyrillic > latin && cyrillic >= greek && cyrillic >= kana) return CYRILLIC;
+        if (greek > latin && greek >= kana) return GREEK;
+        if (kana > latin) return WABUN;
+        return LATIN;
+    }
+
+    /**
+     * Looks up the notation of a single character in constant time.
+     * @param c character to look up
+     * @return  the matching notation or {@code NONE}
+     */
+    MorseNotation fromLiteral(char c) {
+        MorseNotation mn = get(c);
+        if (mn == null && c >= LATIN_1_SIZE && !isInBlock(c)) {
+            // e.g. the dotless 'ı', only allocates for chars without an entry
+            String upper = String.valueOf(c).toUpperCase();
+            if (upper.length() == 1 && upper.charAt(0) != c) mn = get(upper.charAt(0));
+        }
+        return mn == null ? MorseNotation.NONE : mn;
+    }
+
+    /**
+     * Returns the mark that is keyed after the letter of {@code c}, e.g. the dakuten of a voiced kana.
+     * @return  the mark or null if {@code c} is keyed as a single letter
+     */
+    MorseNotation markOf(char c) {
+        int i = c - blockStart;
+        return i >= 0 && i < marks.length ? marks[i] : null;
+    }
+
+    /**
+     * Looks up the notation of a packed dot/dash pattern in constant time.
+     * @param code  packed pattern as returned by {@link MorseNotation#code()}
+     * @return      the matching notation or {@code NONE}
+     */
+    MorseNotation fromCode(int code) {
+        MorseNotation mn = code > 0 && code < sequences.length ? sequences[code] : null;
+        return mn == null ? MorseNotation.NONE : mn;
+    }
+
+    private boolean isInBlock(char c) { return c - blockStart >= 0 && c - blockStart < block.length; }
+
+    private void add(MorseNotation mn) {
+        // every pattern decodes to a single entry, the first one added. Later entries with the same pattern are only
+        // looked up by their literal.
+        if (sequences[mn.code()] == null) sequences[mn.code()] = mn;
+        put(mn.literal, mn);
+    }
+
+    private void put(String literal, MorseNotation mn) {
+        // multi char literals like prosigns are keyed only through their own notation
+        if (literal.length() != 1) return;
+        char upper = literal.charAt(0);
+        if (get(upper) == null) set(upper, mn);
+        char lower = Character.toLowerCase(upper);
+        if (get(lower) == null) set(lower, mn);
+    }
+
+    /**
+     * Resolves a char of the block without an entry of its own to the entry of its base letter.
+     */
+    private void derive(char c) {
+        if (c >= HIRAGANA_START && c < HIRAGANA_END) {
+            char katakana = (char) (c + HIRAGANA_TO_KATAKANA);
+            if (get(katakana) == null) derive(katakana);
+            set(c, get(katakana));
+            marks[c - blockStart] = markOf(katakana);
+            return;
+        }
+        char upper = Character.toUpperCase(c);
+        if (upper != c && get(upper) != null) {
+            set(c, get(upper));
+            return;
+        }
+        // a base letter and a combining mark, e.g. 'Ё' or 'ガ'
+        String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+        if (decomposed.length() != 2) return;
+        MorseNotation base = get(decomposed.charAt(0));
+        if (base == null) base = get(Character.toUpperCase(decomposed.charAt(0)));
+        if (base == null) return;
+        set(c, base);
+        marks[c - blockStart] = get(decomposed.charAt(1));
+    }
+
+    private MorseNotation get(char c) {
+        if (c < LATIN_1_SIZE) return latin1[c];
+        return isInBlock(c) ? block[c - blockStart] : null;
+    }
+
+    private void set(char c, MorseNotation mn) {
+        if (c < LATIN_1_SIZE) latin1[c] = mn;
+        else if (isInBlock(c)) block[c - blockStart] = mn;
+    }
+}
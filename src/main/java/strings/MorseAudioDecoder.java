@@ -0,0 +1,302 @@
+package strings;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import strings.MorseCode.MorseNotation;
+
+/**
+ * Decodes Morse code audio back to clear text, e.g. files written by
+ * {@link MorseCode#saveSignal(Path, javax.sound.sampled.AudioFileFormat.Type, int, int)}. The audio is read in a
+ * single pass with constant memory:
+ * <ol>
+ *     <li>An envelope detector takes the peak of every {@value #BLOCK_MILLIS} ms block of samples and switches
+ *     between tone and silence with a hysteresis relative to the recent signal level.</li>
+ *     <li>The lengths of the tone and silence runs are classified as dits, dahs and gaps against estimates of the
+ *     dit length and of the letter gap, which is longer than three dits with Farnsworth timing. The estimates are
+ *     taken from the first runs that contain a run of one unit, and then follow every run, so the decoder keeps up
+ *     with changes of speed.</li>
+ *     <li>The classified runs are fed as signal notation into a {@link MorseDecoder}.</li>
+ * </ol>
+ * Leading and trailing silence is ignored and line separators come out as white spaces, as they are keyed as word
+ * gaps.
+ */
+public final class MorseAudioDecoder {
+
+    private static final int BLOCK_MILLIS = 4;
+    private static final int BUFFER_SIZE = 8 * 1024;
+    // runs collected before the first estimate of the dit length is made
+    private static final int WARMUP_RUNS = 16;
+    // runs held back at most while waiting for a run of one unit
+    private static final int MAX_WARMUP_RUNS = 1024;
+    // marks of one class only are taken as dahs above this length, the geometric mean of dit and dah at 20 wpm
+    private static final double AMBIGUOUS_MARK_SECONDS = Math.sqrt(3) * 1.2 / 20;
+    // weight of a new run in the estimates
+    private static final double ADAPTION_RATE = 0.25;
+    // gaps above this multiple of the letter gap are word gaps, the geometric mean of 1 and 7/3
+    private static final double LETTER_WORD_THRESHOLD = Math.sqrt(7.0 / 3);
+    // tone switches on above, and off below this share of the signal level
+    private static final double ON_THRESHOLD = 0.5;
+    private static final double OFF_THRESHOLD = 0.3;
+    // blocks quieter than this share of full scale are always silence
+    private static final double NOISE_FLOOR = 0.05;
+    // the signal level halves within this many seconds without tone
+    private static final double LEVEL_HALF_LIFE_SECONDS = 2.0;
+
+    private final MorseDecoder decoder = new MorseDecoder(true);
+    private final StringBuilder clearText = new StringBuilder();
+    private final StringBuilder signal = new StringBuilder();
+
+    // envelope detector
+    private final double levelDecay;
+    private double level = 0;
+    private boolean isTone = false;
+    private long runBlocks = 0;
+    private boolean hasStarted = false;
+
+    // run classification. Runs are stored as block counts, marks positive and gaps negative.
+    private final double ambiguousMarkBlocks;
+    private long[] warmup = new long[WARMUP_RUNS];
+    private int warmupCount = 0;
+    private double ditBlocks = 0;
+    private double letterGapBlocks = 0;
+
+    private MorseAudioDecoder(float blocksPerSecond) {
+        this.levelDecay = Math.pow(0.5, 1.0 / (blocksPerSecond * LEVEL_HALF_LIFE_SECONDS));
+        this.ambiguousMarkBlocks = AMBIGUOUS_MARK_SECONDS * blocksPerSecond;
+    }
+
+    /**
+     * Decodes a WAVE, AU or AIFF file.
+     * @param path  audio file
+     * @return      clear text
+     * @throws IOException                      if the file can not be read
+     * @throws UnsupportedAudioFileException    if the file is not a supported audio file
+     */
+    public static String decode(Path path) throws IOException, UnsupportedAudioFileException {
+        if (path == null) {
+            throw new IllegalArgumentException("\u001B[31m'path' must not be null\u001B[0m");
+        }
+        try (AudioInputStream ais = AudioSystem.getAudioInputStream(path.toFile())) {
+            return decode(ais);
+        }
+    }
+
+    /**
+     * Decodes 8-bit or 16-bit linear PCM audio. Of multichannel audio only the first channel is used. The stream is
+     * read to its end, but not closed.
+     * @param ais   Morse code audio
+     * @return      clear text
+     * @throws IOException  if the stream can not be read
+     */
+    public static String decode(AudioInputStream ais) throws IOException {
+        if (ais == null) {
+            throw new IllegalArgumentException("\u001B[31m'ais' must not be null\u001B[0m");
+        }
+        final AudioFormat format = ais.getFormat();
+        final int bits = format.getSampleSizeInBits();
+        final boolean isSigned = format.getEncoding().equals(AudioFormat.Encoding.PCM_SIGNED);
+        final boolean isPcm = isSigned || format.getEncoding().equals(AudioFormat.Encoding.PCM_UNSIGNED);
+        if (!isPcm || (bits != 8 && bits != 16)) {
+            throw new IllegalArgumentException(STR."\u001B[31mUnsupported audio format: \{format}\u001B[0m");
+        }
+
+        final MorseListener listener = MorseCode.getListener();
+        final long start = listener == MorseListener.NO_OP ? 0 : System.nanoTime();
+        final int frameSize = format.getFrameSize();
+        final int blockFrames = Math.max(1, Math.round(format.getFrameRate() * BLOCK_MILLIS / 1000));
+        final MorseAudioDecoder audioDecoder = new MorseAudioDecoder(format.getFrameRate() / blockFrames);
+
+        final byte[] buffer = new byte[BUFFER_SIZE - BUFFER_SIZE % frameSize];
+        int blockFrame = 0;
+        int blockPeak = 0;
+        int buffered = 0;
+        int read;
+        while ((read = ais.read(buffer, buffered, buffer.length - buffered)) != -1) {
+            buffered += read;
+            int end = buffered - buffered % frameSize;
+            for (int i = 0; i < end; i += frameSize) {
+                blockPeak = Math.max(blockPeak, Math.abs(sample(buffer, i, bits, isSigned, format.isBigEndian())));
+                if (++blockFrame == blockFrames) {
+                    audioDecoder.acceptBlock(blockPeak / (bits == 8 ? 128.0 : 32768.0));
+                    blockFrame = 0;
+                    blockPeak = 0;
+                }
+            }
+            // keep an incomplete frame for the next read
+            System.arraycopy(buffer, end, buffer, 0, buffered - end);
+            buffered -= end;
+        }
+        if (blockFrame > 0) audioDecoder.acceptBlock(blockPeak / (bits == 8 ? 128.0 : 32768.0));
+        final String clearText = audioDecoder.finish();
+        if (listener != MorseListener.NO_OP) {
+            listener.onCompleted(MorseListener.Operation.DECODE, System.nanoTime() - start);
+        }
+        return clearText;
+    }
+
+    private static int sample(byte[] buffer, int i, int bits, boolean isSigned, boolean isBigEndian) {
+        if (bits == 8) return isSigned ? buffer[i] : (buffer[i] & 0xFF) - 128;
+
+        int high = isBigEndian ? buffer[i] : buffer[i + 1];
+        int low = (isBigEndian ? buffer[i + 1] : buffer[i]) & 0xFF;
+        int value = high << 8 | low;
+        return isSigned ? value : (value & 0xFFFF) - 32768;
+    }
+
+    private void acceptBlock(double peak) {
+        level = Math.max(peak, level * levelDecay);
+        final boolean tone = isTone ? peak > Math.max(NOISE_FLOOR, level * OFF_THRESHOLD) :
+                                      peak > Math.max(NOISE_FLOOR, level * ON_THRESHOLD);
+        if (tone != isTone) {
+            // leading silence is dropped
+            if (hasStarted) acceptRun(isTone ? runBlocks : -runBlocks);
+            hasStarted = true;
+            isTone = tone;
+            runBlocks = 0;
+        }
+        runBlocks++;
+    }
+
+    private String finish() {
+        // trailing silence is dropped
+        if (isTone) acceptRun(runBlocks);
+        if (ditBlocks == 0 && warmupCount > 0) estimateDit(true);
+        classifyWarmup();
+        flushSignal();
+        return clearText.append(decoder.finish()).toString().strip();
+    }
+
+    private void acceptRun(long run) {
+        if (ditBlocks > 0) {
+            classify(run);
+            return;
+        }
+        if (warmupCount == warmup.length) warmup = Arrays.copyOf(warmup, 2 * warmup.length);
+        warmup[warmupCount++] = run;
+        if (warmupCount >= WARMUP_RUNS && estimateDit(warmupCount == MAX_WARMUP_RUNS)) classifyWarmup();
+    }
+
+    private void classifyWarmup() {
+        for (int i = 0; i < warmupCount; i++) {
+            classify(warmup[i]);
+        }
+        warmupCount = 0;
+    }
+
+    /**
+     * Takes the average of the shortest runs as the first estimate of the dit length, once a run of one unit is among
+     * them: either the marks split into dits and dahs, or a gap between the marks of a letter is shorter than the
+     * marks, which are dahs then. Without one, dit-gap-dit can not be told from dah-letter gap-dah, so the estimate is
+     * held back until {@code isFinal}, and then taken from the absolute length of the marks. The first letter gap is
+     * three dits, or the shortest of the longer gaps if they are clearly letter gaps. Longer gaps that are all about
+     * seven dits long hold the estimate back as well, and are word gaps in a final estimate.
+     * @return  false if the estimate is held back
+     */
+    private boolean estimateDit(boolean isFinal) {
+        long shortestMark = Long.MAX_VALUE;
+        long longestMark = 0;
+        long shortestGap = Long.MAX_VALUE;
+        long markSum = 0;
+        int markCount = 0;
+        for (int i = 0; i < warmupCount; i++) {
+            if (warmup[i] > 0) {
+                shortestMark = Math.min(shortestMark, warmup[i]);
+                longestMark = Math.max(longestMark, warmup[i]);
+                markSum += warmup[i];
+                markCount++;
+            } else {
+                shortestGap = Math.min(shortestGap, -warmup[i]);
+            }
+        }
+        if (longestMark >= 2 * shortestMark || shortestGap <= shortestMark / 2) {
+            estimateDitFromShortest(Math.min(shortestMark, shortestGap));
+        } else if (!isFinal) {
+            return false;
+        } else {
+            final double mark = (double) markSum / markCount;
+            ditBlocks = mark < ambiguousMarkBlocks ? mark : mark / 3;
+        }
+
+        long shortestLetterGap = Long.MAX_VALUE;
+        long longestGap = 0;
+        for (int i = 0; i < warmupCount; i++) {
+            if (warmup[i] < 0 && -warmup[i] >= 2 * ditBlocks) {
+                shortestLetterGap = Math.min(shortestLetterGap, -warmup[i]);
+                longestGap = Math.max(longestGap, -warmup[i]);
+            }
+        }
+        // longer gaps of one class of about seven dits are word gaps after one letter words, like in "A B C", or
+        // letter gaps stretched by Farnsworth timing. The first gap of another class tells them apart.
+        final boolean isOneClass = longestGap < LETTER_WORD_THRESHOLD * shortestLetterGap;
+        if (isOneClass && shortestLetterGap >= LETTER_WORD_THRESHOLD * 3 * ditBlocks &&
+            shortestLetterGap < LETTER_WORD_THRESHOLD * 7 * ditBlocks) {
+            if (!isFinal) {
+                ditBlocks = 0;
+                return false;
+            }
+            shortestLetterGap = Long.MAX_VALUE;
+        }
+        letterGapBlocks = shortestLetterGap == Long.MAX_VALUE ? 3 * ditBlocks : shortestLetterGap;
+        return true;
+    }
+
+    private void estimateDitFromShortest(long shortest) {
+        long sum = 0;
+        int count = 0;
+        for (int i = 0; i < warmupCount; i++) {
+            long length = Math.abs(warmup[i]);
+            if (length < 2 * shortest) {
+                sum += length;
+                count++;
+            }
+        }
+        ditBlocks = (double) sum / count;
+    }
+
+    private void classify(long run) {
+        final boolean isMark = run > 0;
+        final long length = Math.abs(run);
+        final double units = length / ditBlocks;
+
+        if (isMark) {
+            int marks = units < 2 ? 1 : 3;
+            adapt(length, marks);
+            append(MorseNotation.SIGNAL_MARK, marks);
+        } else if (units < 2) {
+            adapt(length, 1);
+            append(MorseNotation.SIGNAL_GAP, 1);
+        } else if (length < LETTER_WORD_THRESHOLD * letterGapBlocks) {
+            letterGapBlocks += ADAPTION_RATE * (length - letterGapBlocks);
+            append(MorseNotation.SIGNAL_GAP, 3);
+        } else {
+            // a word gap is 7/3 of a letter gap
+            int words = (int) Math.max(1, Math.round(length * 3 / (7 * letterGapBlocks)));
+            letterGapBlocks += ADAPTION_RATE * (length * 3.0 / (7 * words) - letterGapBlocks);
+            append(MorseNotation.SIGNAL_GAP, 7 * words);
+        }
+    }
+
+    private void adapt(long length, int units) {
+        ditBlocks += ADAPTION_RATE * ((double) length / units - ditBlocks);
+        // letter gaps are never shorter than three dits
+        letterGapBlocks = Math.max(letterGapBlocks, 3 * ditBlocks * (1 - ADAPTION_RATE));
+    }
+
+    private void append(char c, int count) {
+        for (int i = 0; i < count; i++) {
+            signal.append(c);
+        }
+        if (signal.length() >= BUFFER_SIZE) flushSignal();
+    }
+
+    private void flushSignal() {
+        clearText.append(decoder.feed(signal));
+        signal.setLength(0);
+    }
+}
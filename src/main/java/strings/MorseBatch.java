@@ -0,0 +1,228 @@
+package strings;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Stream;
+
+/**
+ * Encodes and decodes many messages at once on a {@code ForkJoinPool}. Results are returned in the order of the
+ * messages. Long messages are cut into pieces at boundaries that do not change the result (after a white space when
+ * encoding, after a line separator when decoding), so a single huge message is spread over several workers as well.
+ */
+public final class MorseBatch {
+
+    // target length of a piece of a long message
+    private static final int PIECE_LENGTH = 16 * 1024;
+    // tasks below this number of chars are not split any further
+    private static final int TASK_LENGTH = 32 * 1024;
+
+    private enum Kind { ENCODE, DECODE_MORSE, DECODE_SIGNAL, DECODE_WHOLE }
+
+    private record Piece(int message, String text, int start, int end, Kind kind) {
+        int length() { return end - start; }
+    }
+
+    private MorseBatch() {}
+
+    /**
+     * Encodes every message to Morse code or signal notation using the common pool.
+     * @see #encode(List, Locale, boolean, ForkJoinPool)
+     */
+    public static List<String> encode(List<String> messages, Locale language, boolean asSignalSequence) {
+        return encode(messages, language, asSignalSequence, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Encodes every message to Morse code or signal notation using the common pool.
+     * @see #encode(List, Locale, boolean, ForkJoinPool)
+     */
+    public static List<String> encode(Stream<String> messages, Locale language, boolean asSignalSequence) {
+        return encode(messages.toList(), language, asSignalSequence, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Encodes every message to Morse code or signal notation. Each result is equal to
+     * {@code new MorseCode(message, language).getNotation(asSignalSequence)}.
+     * @param messages          clear text messages. Must not contain null.
+     * @param language          language of the messages
+     * @param asSignalSequence  if true, encodes the messages in signal notation
+     * @param pool              pool used to run the work
+     * @return                  encoded messages in the order of {@code messages}
+     */
+    public static List<String> encode(List<String> messages, Locale language, boolean asSignalSequence,
+                                      ForkJoinPool pool) {
+        if (messages == null || language == null || pool == null) {
+            throw new IllegalArgumentException("\u001B[31m'messages', 'language' and 'pool' must not be null\u001B[0m");
+        }
+
+        List<Piece> pieces = new ArrayList<>();
+        for (int i = 0; i < messages.size(); i++) {
+            String message = messages.get(i);
+            if (message == null) {
+                throw new IllegalArgumentException("\u001B[31m'messages' must not contain null\u001B[0m");
+            }
+            split(pieces, i, message, 0, message.length(), Kind.ENCODE);
+        }
+        return run(pieces, messages.size(), language, asSignalSequence, pool);
+    }
+
+    /**
+     * Decodes every message using the common pool.
+     * @see #decode(List, ForkJoinPool)
+     */
+    public static List<String> decode(List<String> morseCodes) {
+        return decode(morseCodes, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Decodes every message using the common pool.
+     * @see #decode(List, ForkJoinPool)
+     */
+    public static List<String> decode(Stream<String> morseCodes) {
+        return decode(morseCodes.toList(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Decodes every message. Each result is equal to {@link MorseCode#decode(String)} of the message.
+     * @param morseCodes    messages in Morse code or signal notation
+     * @param pool          pool used to run the work
+     * @return              clear text messages in the order of {@code morseCodes}
+     */
+    public static List<String> decode(List<String> morseCodes, ForkJoinPool pool) {
+        if (morseCodes == null || pool == null) {
+            throw new IllegalArgumentException("\u001B[31m'morseCodes' and 'pool' must not be null\u001B[0m");
+        }
+
+        List<Piece> pieces = new ArrayList<>();
+        for (int i = 0; i < morseCodes.size(); i++) {
+            String morseCode = morseCodes.get(i);
+            if (morseCode == null) {
+                pieces.add(new Piece(i, null, 0, 0, Kind.DECODE_WHOLE));
+                continue;
+            }
+
+            // trimming and detection of the notation have to look at the whole message
+            int start = 0;
+            int end = morseCode.length();
+            while (start < end && morseCode.charAt(start) <= ' ') start++;
+            while (end > start && morseCode.charAt(end - 1) <= ' ') end--;
+
+            if (start == end || !MorseDecoder.isMorseChar(morseCode.charAt(start))) {
+                pieces.add(new Piece(i, morseCode, 0, morseCode.length(), Kind.DECODE_WHOLE));
+                continue;
+            }
+            Kind kind = MorseDecoder.isSignalChar(morseCode.charAt(start)) ? Kind.DECODE_SIGNAL : Kind.DECODE_MORSE;
+            split(pieces, i, morseCode, start, end, kind);
+        }
+        return run(pieces, morseCodes.size(), Locale.ENGLISH, false, pool);
+    }
+
+    private static void split(List<Piece> pieces, int message, String text, int start, int end, Kind kind) {
+        // encoded letters never span a white space and decoded letters never span a line separator
+        final char boundary = kind == Kind.ENCODE ? ' ' : '\n';
+        int pieceStart = start;
+        while (end - pieceStart > PIECE_LENGTH) {
+            int pieceEnd = text.indexOf(boundary, pieceStart + PIECE_LENGTH);
+            if (pieceEnd == -1 || pieceEnd >= end - 1) break;
+            pieces.add(new Piece(message, text, pieceStart, pieceEnd + 1, kind));
+            pieceStart = pieceEnd + 1;
+        }
+        pieces.add(new Piece(message, text, pieceStart, end, kind));
+    }
+
+    private static List<String> run(List<Piece> pieces, int messageCount, Locale language, boolean asSignalSequence,
+                                    ForkJoinPool pool) {
+        final String[] results = new String[pieces.size()];
+        final long[] offsets = new long[pieces.size() + 1];
+        for (int i = 0; i < pieces.size(); i++) {
+            offsets[i + 1] = offsets[i] + pieces.get(i).length() + 1;
+        }
+
+        pool.invoke(new PieceTask(pieces, results, offsets, 0, pieces.size(), language, asSignalSequence));
+
+        // join the pieces of every message
+        StringBuilder[] joined = new StringBuilder[messageCount];
+        for (int i = 0; i < pieces.size(); i++) {
+            int message = pieces.get(i).message();
+            if (joined[message] == null) joined[message] = new StringBuilder(results[i].length());
+            joined[message].append(results[i]);
+        }
+        return Arrays.stream(joined).map(sb -> sb == null ? "" : sb.toString()).toList();
+    }
+
+    /**
+     * Processes a range of pieces. Ranges are halved by their number of chars, not their number of pieces, until
+     * they are small enough to be processed by a single worker.
+     */
+    private static final class PieceTask extends RecursiveAction {
+        // tasks only live inside of a pool and are never serialized
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<Piece> pieces;
+        private final String[] results;
+        private final long[] offsets;
+        private final int from;
+        private final int to;
+        private final Locale language;
+        private final boolean asSignalSequence;
+
+        PieceTask(List<Piece> pieces, String[] results, long[] offsets, int from, int to, Locale language,
+                  boolean asSignalSequence) {
+            this.pieces = pieces;
+            this.results = results;
+            this.offsets = offsets;
+            this.from = from;
+            this.to = to;
+            this.language = language;
+            this.asSignalSequence = asSignalSequence;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1 || offsets[to] - offsets[from] <= TASK_LENGTH) {
+                for (int i = from; i < to; i++) {
+                    results[i] = process(pieces.get(i));
+                }
+                return;
+            }
+
+            // split where half of the chars of this range are processed
+            long half = (offsets[from] + offsets[to]) / 2;
+            int mid = Arrays.binarySearch(offsets, from, to, half);
+            mid = Math.max(from + 1, Math.min(to - 1, mid < 0 ? -mid - 1 : mid));
+            invokeAll(new PieceTask(pieces, results, offsets, from, mid, language, asSignalSequence),
+                      new PieceTask(pieces, results, offsets, mid, to, language, asSignalSequence));
+        }
+
+        private String process(Piece piece) {
+            CharSequence text = piece.text() == null ? null : CharBuffer.wrap(piece.text(), piece.start(), piece.end());
+            return switch (piece.kind()) {
+                case ENCODE -> {
+                    StringBuilder sb = new StringBuilder(piece.length() * 4);
+                    try {
+                        new MorseEncoder(language, asSignalSequence).encode(text, sb);
+                    } catch (IOException e) {
+                        // a StringBuilder never throws
+                        throw new UncheckedIOException(e);
+                    }
+                    yield sb.toString();
+                }
+                case DECODE_MORSE, DECODE_SIGNAL -> {
+                    MorseDecoder decoder = new MorseDecoder(piece.kind() == Kind.DECODE_SIGNAL);
+                    String clearText = decoder.feed(text);
+                    yield clearText + decoder.finish();
+                }
+                case DECODE_WHOLE -> MorseCode.decode(piece.text());
+            };
+        }
+    }
+}
@@ -2,9 +2,13 @@ package strings;
 
 import javax.sound.sampled.*;
 import java.io.*;
+import java.nio.BufferOverflowException;
 import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 
 /**
@@ -12,45 +16,113 @@ import java.util.Locale;
  */
 public class MorseCode {
 
-    private final static int SAMPLE_RATE = 16 * 1024;
-    private final static String LINE_SEPARATOR = System.lineSeparator();
-    private final static AudioFormat audioFormat = new AudioFormat(SAMPLE_RATE, 8, 1, true, true);;
+    final static String LINE_SEPARATOR = System.lineSeparator();
 
-    private ArrayList<MorseNotation> literals = new ArrayList<>();
+    private final static char[] SHORT_GAP_CHARS = MorseNotation.SHORT_GAP.toCharArray();
+    private final static char[] SIGNAL_LETTER_GAP_CHARS = MorseNotation.SIGNAL_LETTER_GAP.toCharArray();
 
+    private static volatile MorseListener listener = MorseListener.NO_OP;
+
+    private final List<MorseNotation> literals;
+    private final MorseAlphabet alphabet;
+
+    /**
+     * Looks up {@code message} in the alphabet detected from its script, see {@link MorseAlphabet#detect}.
+     * @param message   clear text
+     */
     public MorseCode(String message) {
-        // TODO automatically recognize string language
-        this(message, Locale.ENGLISH);
+        this(message, message == null ? MorseAlphabet.LATIN : MorseAlphabet.detect(message));
     }
+
+    /**
+     * Looks up {@code message} in the alphabet of {@code language}, see {@link MorseAlphabet#of(Locale)}.
+     * @param message   clear text
+     * @param language  language of the message
+     */
     public MorseCode(String message, Locale language) throws IllegalArgumentException{
-        if (message == null) {
-            throw new IllegalArgumentException("\u001B[31m'message' must not be null\u001B[0m");
+        this(message, MorseAlphabet.of(language));
+    }
+
+    /**
+     * Looks up {@code message} in {@code alphabet}. Characters without a Morse code in the alphabet are kept as
+     * invalid entries and reported to the {@link MorseListener}.
+     * @param message   clear text
+     * @param alphabet  alphabet to look up the characters in
+     */
+    public MorseCode(String message, MorseAlphabet alphabet) throws IllegalArgumentException{
+        if (message == null || alphabet == null) {
+            throw new IllegalArgumentException("\u001B[31m'message' and 'alphabet' must not be null\u001B[0m");
         }
 
+        final MorseListener listener = getListener();
+        final long start = listener == MorseListener.NO_OP ? 0 : System.nanoTime();
+        int unknownCharacters = 0;
+
         message = normalizeLineSeparators(message);
+        literals = new ArrayList<>(message.length());
+        this.alphabet = alphabet;
 
+        final boolean isGerman = alphabet == MorseAlphabet.GERMAN;
         char[] chars = message.toCharArray();
         for (int i = 0; i < chars.length; i++) {
-            String currentChar = Character.toString(chars[i]);
-
-            boolean isCH = (language.equals(Locale.GERMANY) || language.equals(Locale.GERMAN)) &&
-                            currentChar.matches("[Cc]") && i != chars.length - 1 &&
-                            Character.toString(chars[i + 1]).matches("[Hh]");
+            char currentChar = chars[i];
 
-            if(isCH) {
-                currentChar = "ch";
-                i++;
-            }
+            boolean isCH = isGerman && (currentChar == 'C' || currentChar == 'c') && i != chars.length - 1 &&
+                            (chars[i + 1] == 'H' || chars[i + 1] == 'h');
 
-            MorseNotation mn = MorseNotation.search(currentChar, true);
+            MorseNotation mn = isCH ? MorseNotation.CH : alphabet.fromLiteral(currentChar);
+            if(isCH) i++;
 
             if (!MorseNotation.isValid(mn)) {
-                System.out.println(STR."\u001B[33m No valid Morse code available for character '\{currentChar}'\u001B[0m");
+                unknownCharacters++;
+                if (listener != MorseListener.NO_OP) {
+                    listener.onWarning(STR."No valid Morse code available for character '\{currentChar}'");
+                }
             }
             literals.add(mn);
+
+            MorseNotation mark = alphabet.markOf(currentChar);
+            if (mark != null) literals.add(mark);
         }
+
+        if (listener != MorseListener.NO_OP) {
+            listener.onEncoded(literals.size(), unknownCharacters);
+            listener.onCompleted(MorseListener.Operation.ENCODE, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Creates a Morse code message of the Latin alphabet from already looked up notations. The list is used as is,
+     * not copied.
+     * @param literals  notations of the message
+     */
+    MorseCode(List<MorseNotation> literals) {
+        this(literals, MorseAlphabet.LATIN);
     }
 
+    /**
+     * Creates a Morse code message from already looked up notations. The list is used as is, not copied.
+     * @param literals  notations of the message
+     * @param alphabet  alphabet the notations were looked up in
+     */
+    MorseCode(List<MorseNotation> literals, MorseAlphabet alphabet) {
+        this.literals = literals;
+        this.alphabet = alphabet;
+    }
+
+    /**
+     * Returns the alphabet the message was looked up in.
+     */
+    public MorseAlphabet getAlphabet() { return alphabet; }
+
+    /**
+     * Returns the stored message in a compact form that keeps a few bits per character instead of an object
+     * reference. Use it to hold large numbers of messages in memory.
+     * @return packed message
+     * @see PackedMorseCode#unpack()
+     */
+    public PackedMorseCode pack() { return new PackedMorseCode(literals, alphabet); }
+
     /**
      * Returns the stored Morse code message as clear text.
      * @return String as clear text.
@@ -70,106 +142,100 @@ public class MorseCode {
      */
     public static String decode(String morseCode){
         if (morseCode == null) {
-            System.out.println("\u001B[31m String object 'morseCode' must not be null\u001B[0m");
+            getListener().onWarning("String object 'morseCode' must not be null");
             return "";
         }
+        return decode(morseCode, DecodePolicy.SKIP).text();
+    }
 
-        // sanitize string for decoding
-        morseCode = normalizeLineSeparators(morseCode).trim();
-        if(morseCode.isEmpty()){
-            return "";
+    /**
+     * Decodes a given {@code morseCode} String and reports the tokens that could not be decoded.
+     * @param   morseCode   The String that is decoded. Has to be in Morse code or Morse Signal notation.
+     * @param   policy      handling of invalid tokens
+     * @return  clear text with the positions and content of the invalid tokens
+     * @throws IllegalArgumentException if a token is invalid and the policy is {@link DecodePolicy#FAIL_FAST}
+     */
+    public static DecodeResult decode(String morseCode, DecodePolicy policy) {
+        if (morseCode == null || policy == null) {
+            throw new IllegalArgumentException("\u001B[31m'morseCode' and 'policy' must not be null\u001B[0m");
         }
+        return decode(morseCode, policy, MorseAlphabet.LATIN);
+    }
 
-        // check if the message is an actual Morse code
-        String firstChar = Character.toString(morseCode.charAt(0));
-        String regEx =  STR."\{MorseNotation.SIGNAL_MARK}|\{MorseNotation.SIGNAL_GAP}|" +
-                        STR."\{MorseNotation.SHORT_MARK}|\{MorseNotation.LONG_MARK}";
-        boolean isMorseCode = firstChar.matches(regEx);
-
-        if(!isMorseCode){
-            System.out.println("\u001B[33m String object 'morseCode' is not a valid Morse Code\u001B[0m");
-            return "";
+    /**
+     * Decodes a given {@code morseCode} String in {@code alphabet} and reports the tokens that could not be decoded.
+     * @param   morseCode   The String that is decoded. Has to be in Morse code or Morse Signal notation.
+     * @param   policy      handling of invalid tokens
+     * @param   alphabet    alphabet the message was encoded in
+     * @return  clear text with the positions and content of the invalid tokens
+     * @throws IllegalArgumentException if a token is invalid and the policy is {@link DecodePolicy#FAIL_FAST}
+     */
+    public static DecodeResult decode(String morseCode, DecodePolicy policy, MorseAlphabet alphabet) {
+        if (morseCode == null || policy == null || alphabet == null) {
+            throw new IllegalArgumentException(
+                    "\u001B[31m'morseCode', 'policy' and 'alphabet' must not be null\u001B[0m");
         }
+        final MorseListener listener = getListener();
+        final long start = listener == MorseListener.NO_OP ? 0 : System.nanoTime();
 
-        // check if it's in signal or morse notation
-        regEx = STR."\{MorseNotation.SIGNAL_MARK}|\{MorseNotation.SIGNAL_GAP}";
-        boolean isSignalSequence = firstChar.matches(regEx);
-
-        return isSignalSequence ? decodeSignalString(morseCode) : decodeMorseString(morseCode);
+        MorseDecoder decoder = new MorseDecoder(policy, alphabet);
+        String clearText = decoder.feed(morseCode) + decoder.finish();
+        if (listener != MorseListener.NO_OP) {
+            listener.onCompleted(MorseListener.Operation.DECODE, System.nanoTime() - start);
+        }
+        return new DecodeResult(clearText, decoder.getInvalidTokens(), decoder.getInvalidTokenCount());
     }
 
-    private static String decodeMorseString(String morseCode){
-        String splitRegEx = STR." |\{LINE_SEPARATOR}";
-        String[] splits = morseCode.splitWithDelimiters(splitRegEx, -1);
-        StringBuilder sb = new StringBuilder();
-        for(int i = 0; i < splits.length; i++) {
-            String current = splits[i];
-
-            if(current.isEmpty()) continue;
-
-            if(current.equals("\r") || current.equals("\n")){
-                sb.append(current);
-                continue;
-            }
-
-            if(current.equals(" ")){
-                // check for triple white space sequence to convert to one white space,
-                // otherwise just append an empty String to ignore the current array entry
-                if (i + 5 < splits.length){
-                    // checks the next four entries in array for sequence ["", " ", "", " "]
-                    boolean isTripleWS = true;
-                    for(int j = 1; j < 5; j++){
-                        isTripleWS &= j % 2 == 0 ? splits[i+j].equals(" ") : splits[i+j].isEmpty();
-                    }
-
-                    if (isTripleWS) {
-                        sb.append(" ");
-                        i += 4;
-                    }
-                }
-                continue;
-            }
-
-            current = current.replace(STR."\{MorseNotation.SHORT_MARK}", ".");
-            current = current.replace(STR."\{MorseNotation.LONG_MARK}", "_");
-            MorseNotation mc = MorseNotation.search(current, false);
-            if (MorseNotation.isValid(mc)) {
-                sb.append(mc.literal);
-            } else {
-                System.out.println(STR."\u001B[33m No valid character conversion found for String '\{current}'\u001B[0m");
-            }
+    /**
+     * Registers the listener that receives the metrics and warnings of all Morse code operations, replacing the
+     * previous one. Warnings are no longer printed, register {@link MorseListener#console()} to see them.
+     * @param listener  listener to register, {@link MorseListener#NO_OP} to switch instrumentation off
+     */
+    public static void setListener(MorseListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("\u001B[31m'listener' must not be null\u001B[0m");
         }
-        return sb.toString();
+        MorseCode.listener = listener;
     }
 
-    private static String decodeSignalString(String morseCode){
-        String splitRegEx = STR."\{MorseNotation.SIGNAL_WORD_GAP}|\{MorseNotation.SIGNAL_LETTER_GAP}|\{LINE_SEPARATOR}";
-        String[] splits = morseCode.splitWithDelimiters(splitRegEx, -1);
-        StringBuilder sb = new StringBuilder();
-        for(String string : splits){
-            if(string.equals(MorseNotation.SIGNAL_LETTER_GAP) || string.isEmpty()) continue;
-
-            if(string.equals(MorseNotation.SIGNAL_WORD_GAP)){
-                sb.append(" ");
-                continue;
-            }
+    /**
+     * Returns the registered listener, {@link MorseListener#NO_OP} by default.
+     */
+    public static MorseListener getListener() { return listener; }
 
-            if(string.matches("[\r\n]")){
-                sb.append(string);
-                continue;
-            }
+    /**
+     * Reads a message in the binary signal timing format from {@code channel} and decodes it to clear text. Line
+     * separators are decoded as white spaces. The channel is not closed.
+     * @param   channel source of the timing data, as written by {@link #writeTiming(WritableByteChannel)}
+     * @return  String as clear text.
+     * @throws IOException  if reading fails or the data is not in the signal timing format
+     */
+    public static String decodeTiming(ReadableByteChannel channel) throws IOException {
+        if (channel == null) {
+            throw new IllegalArgumentException("\u001B[31m'channel' must not be null\u001B[0m");
+        }
+        final MorseListener listener = getListener();
+        final long start = listener == MorseListener.NO_OP ? 0 : System.nanoTime();
+        String clearText = SignalTiming.decode(channel);
+        if (listener != MorseListener.NO_OP) {
+            listener.onCompleted(MorseListener.Operation.DECODE, System.nanoTime() - start);
+        }
+        return clearText;
+    }
 
-            string = string.replaceAll(MorseNotation.SIGNAL_LONG_MARK, "_");
-            string = string.replaceAll(MorseNotation.SIGNAL_SHORT_MARK, ".");
-            string = string.replaceAll(Character.toString(MorseNotation.SIGNAL_GAP), "");
-            MorseNotation mc = MorseNotation.search(string, false);
-            if (MorseNotation.isValid(mc)) {
-                sb.append(mc.literal);
-            } else {
-                System.out.println(STR."\u001B[33m No valid character conversion found for String '\{string}'\u001B[0m");
-            }
+    /**
+     * Writes the keying sequence of the stored message to {@code channel} in a binary signal timing format: the
+     * lengths of alternating off and on runs in dit units, packed as varints. This takes a small fraction of the size
+     * of the signal notation. The channel is not closed.
+     * @param channel   destination of the timing data
+     * @return          number of bytes written
+     * @throws IOException  if {@code channel} can not be written to
+     */
+    public long writeTiming(WritableByteChannel channel) throws IOException {
+        if (channel == null) {
+            throw new IllegalArgumentException("\u001B[31m'channel' must not be null\u001B[0m");
         }
-        return sb.toString();
+        return SignalTiming.write(literals, channel);
     }
 
     /**
@@ -184,23 +250,106 @@ public class MorseCode {
      * @return  String
      */
     public String getNotation(boolean asSignalSequence){
+        char[] chars = new char[getNotationLength(asSignalSequence)];
+        getNotation(asSignalSequence, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * Appends the stored message in Morse code notation or signal notation to {@code out}. The notation of every
+     * character is precomputed, so nothing is allocated per character.
+     * @param asSignalSequence  if true, appends the message in signal notation
+     * @param out               destination of the notation
+     * @return                  {@code out}
+     * @throws IOException      if {@code out} can not be written to
+     */
+    public <A extends Appendable> A getNotation(boolean asSignalSequence, A out) throws IOException {
+        if (out == null) {
+            throw new IllegalArgumentException("\u001B[31m'out' must not be null\u001B[0m");
+        }
         final String shortGap = asSignalSequence ? MorseNotation.SIGNAL_LETTER_GAP : MorseNotation.SHORT_GAP;
+        for (int i = 0; i < literals.size(); i++) {
+            if (needsShortGap(i)) out.append(shortGap);
+            out.append(literals.get(i).toNotation(asSignalSequence));
+        }
+        return out;
+    }
 
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < literals.size(); i++){
-            MorseNotation current = literals.get(i);
-            String sequence = getMorseString(current, false, asSignalSequence);
+    /**
+     * Puts the stored message in Morse code notation or signal notation into {@code dst}. Nothing is written if the
+     * notation does not fit into the remaining space of {@code dst}.
+     * @param asSignalSequence  if true, puts the message in signal notation
+     * @param dst               destination of the notation
+     * @return                  {@code dst}
+     * @throws BufferOverflowException  if less than {@link #getNotationLength(boolean)} chars remain in {@code dst}
+     */
+    public CharBuffer getNotation(boolean asSignalSequence, CharBuffer dst) {
+        if (dst == null) {
+            throw new IllegalArgumentException("\u001B[31m'dst' must not be null\u001B[0m");
+        }
+        if (dst.remaining() < getNotationLength(asSignalSequence)) throw new BufferOverflowException();
 
-            if (i == literals.size() - 1) {
-                sb.append(sequence);
-                break;
+        final char[] shortGap = shortGapChars(asSignalSequence);
+        for (int i = 0; i < literals.size(); i++) {
+            if (needsShortGap(i)) dst.put(shortGap);
+            dst.put(literals.get(i).toChars(asSignalSequence));
+        }
+        return dst;
+    }
+
+    /**
+     * Copies the stored message in Morse code notation or signal notation into {@code dst}.
+     * @param asSignalSequence  if true, copies the message in signal notation
+     * @param dst               destination of the notation
+     * @param offset            index in {@code dst} of the first char written
+     * @return                  number of chars written
+     * @throws IllegalArgumentException if the notation does not fit into {@code dst} at {@code offset}
+     */
+    public int getNotation(boolean asSignalSequence, char[] dst, int offset) {
+        final int length = getNotationLength(asSignalSequence);
+        if (dst == null || offset < 0 || offset > dst.length - length) {
+            throw new IllegalArgumentException(
+                    STR."\u001B[31m'dst' needs room for \{length} chars at 'offset'\u001B[0m");
+        }
+
+        final char[] shortGap = shortGapChars(asSignalSequence);
+        int position = offset;
+        for (int i = 0; i < literals.size(); i++) {
+            if (needsShortGap(i)) {
+                System.arraycopy(shortGap, 0, dst, position, shortGap.length);
+                position += shortGap.length;
             }
+            char[] chars = literals.get(i).toChars(asSignalSequence);
+            System.arraycopy(chars, 0, dst, position, chars.length);
+            position += chars.length;
+        }
+        return length;
+    }
 
-            boolean isWhiteSpace = MorseNotation.isWhiteSpace(current);
-            boolean isLastCharInWord = MorseNotation.isWhiteSpace(literals.get(i + 1));
-            sb.append(isLastCharInWord || isWhiteSpace ? sequence : STR."\{sequence}\{shortGap}");
+    /**
+     * Returns the number of chars of the stored message in Morse code notation or signal notation. Use it to size
+     * the buffers passed to {@code getNotation}.
+     * @param asSignalSequence  if true, counts the chars of the signal notation
+     * @return                  length of the notation
+     */
+    public int getNotationLength(boolean asSignalSequence) {
+        final int shortGapLength = shortGapChars(asSignalSequence).length;
+        int length = 0;
+        for (int i = 0; i < literals.size(); i++) {
+            if (needsShortGap(i)) length += shortGapLength;
+            length += literals.get(i).toChars(asSignalSequence).length;
         }
-        return sb.toString();
+        return length;
+    }
+
+    private static char[] shortGapChars(boolean asSignalSequence) {
+        return asSignalSequence ? SIGNAL_LETTER_GAP_CHARS : SHORT_GAP_CHARS;
+    }
+
+    // letters are separated by a short gap, unless one of them is a white space
+    private boolean needsShortGap(int index) {
+        return index > 0 && !MorseNotation.isWhiteSpace(literals.get(index - 1)) &&
+               !MorseNotation.isWhiteSpace(literals.get(index));
     }
 
     /**
@@ -269,15 +418,15 @@ public class MorseCode {
         return getMorseString(character, getCharacter, false);
     }
 
-    private String getMorseString(MorseNotation character, boolean getCharacter, boolean asSignalSequence){
+    private static String getMorseString(MorseNotation character, boolean getCharacter, boolean asSignalSequence){
+        if (!getCharacter) return character.toNotation(asSignalSequence);
+
         final String longGap = asSignalSequence ? MorseNotation.SIGNAL_WORD_GAP : MorseNotation.LONG_GAP;
-        final String sequence = MorseNotation.generateSequence(character.sequence, asSignalSequence);
-        final String str = getCharacter ? character.literal : sequence;
         return switch(character){
             case NEWLINE, RETURN -> character.literal;
             case WHITE_SPACE -> longGap;
             case TAB -> STR."\{longGap}\{longGap}\{longGap}";
-            default -> str;
+            default -> character.literal;
         };
     }
 
@@ -315,52 +464,67 @@ public class MorseCode {
         return sb.toString();
     }
 
-    private ArrayList<byte[]> getAudioData(int wordsPerMinute , int beepFrequency){
-        ArrayList<byte[]> audioData = new ArrayList<>();
+    /**
+     * Returns a stream of the Morse code signal as signed 8-bit mono PCM samples. The samples are generated on demand
+     * while the stream is read, so memory use does not grow with the length of the message.
+     * @param wordsPerMinute    determines signal speed. One word is equal to 5 signal letters. Clamped between 1 and
+     *                          50.
+     * @param beepFrequency     determines the frequency of the beeping sound in hertz. Clamped between 50 and 20000 Hz
+     * @return AudioInputStream
+     */
+    public AudioInputStream getAudioInputStream(int wordsPerMinute, int beepFrequency){
+        return getAudioInputStream(getTimingProfile(wordsPerMinute), beepFrequency);
+    }
 
-        final int defaultDitLength = 1200;
-        final int wpm = Math.max(1, Math.min(wordsPerMinute, 50));
-        final int bFreq = Math.max(50, Math.min(beepFrequency, 20000));
-        final int ditLength = defaultDitLength / wpm;
-        final int maxBufferSize = Integer.MAX_VALUE / ditLength / SAMPLE_RATE;
-        final double period = (double) SAMPLE_RATE / bFreq;
-
-        String signalStr = this.getNotation(true);
-        signalStr = signalStr.replaceAll(LINE_SEPARATOR, MorseNotation.SIGNAL_WORD_GAP);
-
-//        System.out.println(STR."Expected signal length: \{(float) signalStr.length() * ditLength / 1000} seconds.");
-//        System.out.println(STR."Buffer Size: \{maxBufferSize}");
-
-        CharBuffer charBuffer = CharBuffer.allocate(maxBufferSize);
-        char[] signalChars = signalStr.toCharArray();
-        for (int i = 0; i < signalChars.length; i++) {
-            // write buffer
-            charBuffer.put(signalChars[i]);
-            if (charBuffer.hasRemaining() && i != signalChars.length - 1) continue;
-
-            // read buffer
-            charBuffer.flip();
-            char[] chars = new char[charBuffer.limit()];
-            charBuffer.get(chars, 0, charBuffer.limit());
-
-            int length = chars.length * ditLength;
-            int samples = (length * SAMPLE_RATE) / 1000;
-
-            // generate waveform using signal string
-            byte[] buffer = new byte[samples];
-            for (int j = 0; j < buffer.length; j++) {
-                float charIndex = (float) j / samples * chars.length;
-                char current = chars[(int) charIndex];
-                double angle = 2.0 * Math.PI * j / period;
-                int volume = current == MorseNotation.SIGNAL_MARK ? 1 : 0;
-                buffer[j] = (byte) (Math.sin(angle) * 127f * volume);
-            }
-            audioData.add(buffer);
-            charBuffer.clear();
+    /**
+     * Returns a stream of the Morse code signal as signed 8-bit mono PCM samples, timed by {@code profile}. The
+     * samples are generated on demand while the stream is read, so memory use does not grow with the length of the
+     * message.
+     * @param profile           speed, weighting and sample rate of the signal
+     * @param beepFrequency     determines the frequency of the beeping sound in hertz. Clamped between 50 and 20000 Hz
+     * @return AudioInputStream
+     */
+    public AudioInputStream getAudioInputStream(TimingProfile profile, int beepFrequency){
+        if (profile == null) {
+            throw new IllegalArgumentException("\u001B[31m'profile' must not be null\u001B[0m");
+        }
+        return getAudioInputStream(profile, getAudioFormat(profile.sampleRate()), beepFrequency);
+    }
+
+    /**
+     * Returns a stream of the Morse code signal in the given audio format, timed by {@code profile}. The sample rate
+     * of {@code format} takes the place of the sample rate of {@code profile}. The samples are generated on demand
+     * while the stream is read, so memory use does not grow with the length of the message.
+     * @param profile           speed and weighting of the signal
+     * @param format            signed 8-bit or 16-bit mono PCM of either byte order, between 8000 and 48000 Hz
+     * @param beepFrequency     determines the frequency of the beeping sound in hertz. Clamped between 50 and 20000 Hz
+     * @return AudioInputStream
+     */
+    public AudioInputStream getAudioInputStream(TimingProfile profile, AudioFormat format, int beepFrequency){
+        if (profile == null || format == null) {
+            throw new IllegalArgumentException("\u001B[31m'profile' and 'format' must not be null\u001B[0m");
         }
-        return audioData;
+        final int bFreq = Math.max(50, Math.min(beepFrequency, 20000));
+        final TimingProfile timing = profile.withSampleRate(format.getSampleRate());
+
+        SignalInputStream signal = new SignalInputStream(literals, timing, format, bFreq);
+        return new AudioInputStream(signal, format, signal.length());
     }
 
+    /**
+     * Returns the standard timing at the given speed.
+     * @param wordsPerMinute    signal speed. Clamped between 1 and 50.
+     */
+    static TimingProfile getTimingProfile(int wordsPerMinute) {
+        return TimingProfile.of(Math.max(1, Math.min(wordsPerMinute, 50)));
+    }
+
+    /**
+     * Returns the default audio format, signed 8-bit mono PCM, as returned by
+     * {@link #getAudioInputStream(TimingProfile, int)}.
+     */
+    static AudioFormat getAudioFormat(float sampleRate) { return new AudioFormat(sampleRate, 8, 1, true, true); }
+
     /**
      * Generates a waveform of the Morse code signal and will try to play it back using the computers sound system.
      * This is a blocking method, so execution of the thread and any subsequent code will be halted until playback
@@ -381,53 +545,92 @@ public class MorseCode {
      *                          Clamped between 50 and 20000 Hz
      */
     public void playSignal(int wordsPerMinute , int beepFrequency){
+        playSignal(getTimingProfile(wordsPerMinute), beepFrequency);
+    }
+
+    /**
+     * Generates a waveform of the Morse code signal and will try to play it back using the computers sound system.
+     * This is a blocking method, so execution of the thread and any subsequent code will be halted until playback
+     * is finished.
+     * @param profile           speed, weighting and sample rate of the signal
+     * @param beepFrequency     determines the frequency of the beeping sound in hertz. Clamped between 50 and 20000 Hz
+     */
+    public void playSignal(TimingProfile profile, int beepFrequency){
+        final AudioInputStream signal = getAudioInputStream(profile, beepFrequency);
+        final AudioFormat format = signal.getFormat();
+        final int frameRate = (int) format.getFrameRate();
         SourceDataLine line;
         try {
             // prepare to play audio
-            line = AudioSystem.getSourceDataLine(audioFormat);
-            line.open(audioFormat, SAMPLE_RATE);
+            line = AudioSystem.getSourceDataLine(format);
+            line.open(format, frameRate * format.getFrameSize());
             line.start();
         } catch (LineUnavailableException e) {
-            System.out.println(e.getLocalizedMessage());
+            getListener().onWarning(e.getLocalizedMessage());
             return;
         }
 
-        for(byte[] buffer : getAudioData(wordsPerMinute, beepFrequency)){
-            line.write(buffer, 0, buffer.length);
+        // write the signal while it is generated, playback starts with the first buffer
+        byte[] buffer = new byte[frameRate / 8 * format.getFrameSize()];
+        try (AudioInputStream ais = signal) {
+            int read;
+            while ((read = ais.read(buffer, 0, buffer.length)) != -1) {
+                line.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            getListener().onWarning(e.getLocalizedMessage());
         }
         // wait until the remaining bytes have been drained and close line
         line.drain();
         line.close();
     }
 
+    /**
+     * Plays the Morse code signal in the background and returns immediately. Messages are played one after another on
+     * a shared player, which keeps its line open between messages.
+     * @param wordsPerMinute    determines signal playback speed. One word is equal to 5 signal letters. Clamped between
+     *                          1 and 50.
+     * @param beepFrequency     determines the frequency of the beeping sound in hertz. Clamped between 50 and 20000 Hz
+     * @return                  handle to pause, resume or cancel the playback and to wait for it
+     * @see MorsePlayer
+     */
+    public MorsePlayer.Playback playSignalAsync(int wordsPerMinute, int beepFrequency) {
+        return SharedPlayer.INSTANCE.play(this, wordsPerMinute, beepFrequency);
+    }
+
+    // created on first use only, so the sound system is not touched by code that never plays asynchronously
+    private static final class SharedPlayer {
+        static final MorsePlayer INSTANCE = new MorsePlayer();
+    }
+
     public void saveSignal(Path filePath, AudioFileFormat.Type fileFormat, int wordsPerMinute,
                            int beepFrequency) throws IOException {
+        saveSignal(filePath, fileFormat, getTimingProfile(wordsPerMinute), beepFrequency);
+    }
+
+    public void saveSignal(Path filePath, AudioFileFormat.Type fileFormat, TimingProfile profile,
+                           int beepFrequency) throws IOException {
+        if (profile == null) {
+            throw new IllegalArgumentException("\u001B[31m'profile' must not be null\u001B[0m");
+        }
+        saveSignal(filePath, fileFormat, profile, getAudioFormat(profile.sampleRate()), beepFrequency);
+    }
+
+    /**
+     * Writes the Morse code signal in the given audio format to a file.
+     * @see #getAudioInputStream(TimingProfile, AudioFormat, int)
+     */
+    public void saveSignal(Path filePath, AudioFileFormat.Type fileFormat, TimingProfile profile, AudioFormat format,
+                           int beepFrequency) throws IOException {
         File file = filePath.toFile();
         if (file.isDirectory()) {
-            System.out.println(STR."\u001B[31mCan not write file:\{file.toString()}\u001B[0m");
+            getListener().onWarning(STR."Can not write file: \{file}");
             return;
         }
 
-        ArrayList<byte[]> audioData = getAudioData(wordsPerMinute, beepFrequency);
-        int arraySize = audioData.stream().map(bytes -> bytes.length).reduce(0, Integer::sum);
-
-        int i = 0;
-        byte[] buffer = new byte[arraySize];
-        while(i < arraySize) {
-            for (byte[] b : audioData) {
-                for (byte value : b) {
-                    buffer[i++] = value;
-                }
-            }
+        try (AudioInputStream ais = getAudioInputStream(profile, format, beepFrequency)) {
+            SignalFileWriter.write(ais, fileFormat, filePath);
         }
-
-        final ByteArrayInputStream bais = new ByteArrayInputStream(buffer);
-        final AudioInputStream ais = new AudioInputStream(bais, audioFormat, buffer.length);
-
-        AudioSystem.write(ais, fileFormat, file);
-
-        bais.close();
-        ais.close();
     }
 
     @Override
@@ -441,7 +644,7 @@ public class MorseCode {
      * the corresponding Morse code sequence. The enum also includes some entries for white space characters to
      * distinguish between them more easily.
      */
-    private enum MorseNotation {
+    enum MorseNotation {
         // literals
         A("A", "._"), B("B", "_..."), C("C", "_._."), D("D", "_.."), E("E", "."), F("F", ".._."), G("G", "__."),
         H("H", "...."), I("I", ".."), J("J", ".___"), K("K", "_._"), L("L", "._.."), M("M", "__"), N("N", "_."),
@@ -456,52 +659,152 @@ public class MorseCode {
         JN("'", ".____."), BT("=", "_..._"), AR("+", "._._."), DN("/", "_.._."), QM("\"", "._.._."), AC("@", ".__._."),
         // Morse code prosigns
         KA("KA", "_._._"), VE("VE", "..._."), SK("SK", "..._._"), SOS("SOS", "...___..."), HH("HH", "........"),
+        // Cyrillic letters (Russian Morse code)
+        CYR_A("А", "._"), CYR_BE("Б", "_..."), CYR_VE("В", ".__"), CYR_GHE("Г", "__."), CYR_DE("Д", "_.."),
+        CYR_IE("Е", "."), CYR_ZHE("Ж", "..._"), CYR_ZE("З", "__.."), CYR_I("И", ".."), CYR_SHORT_I("Й", ".___"),
+        CYR_KA("К", "_._"), CYR_EL("Л", "._.."), CYR_EM("М", "__"), CYR_EN("Н", "_."), CYR_O("О", "___"),
+        CYR_PE("П", ".__."), CYR_ER("Р", "._."), CYR_ES("С", "..."), CYR_TE("Т", "_"), CYR_U("У", ".._"),
+        CYR_EF("Ф", ".._."), CYR_HA("Х", "...."), CYR_TSE("Ц", "_._."), CYR_CHE("Ч", "___."), CYR_SHA("Ш", "____"),
+        CYR_SHCHA("Щ", "__._"), CYR_HARD_SIGN("Ъ", "__.__"), CYR_YERU("Ы", "_.__"), CYR_SOFT_SIGN("Ь", "_.._"),
+        CYR_E("Э", ".._.."), CYR_YU("Ю", "..__"), CYR_YA("Я", "._._"),
+        // Greek letters
+        GR_ALPHA("Α", "._"), GR_BETA("Β", "_..."), GR_GAMMA("Γ", "__."), GR_DELTA("Δ", "_.."), GR_EPSILON("Ε", "."),
+        GR_ZETA("Ζ", "__.."), GR_ETA("Η", "...."), GR_THETA("Θ", "_._."), GR_IOTA("Ι", ".."), GR_KAPPA("Κ", "_._"),
+        GR_LAMBDA("Λ", "._.."), GR_MU("Μ", "__"), GR_NU("Ν", "_."), GR_XI("Ξ", "_.._"), GR_OMICRON("Ο", "___"),
+        GR_PI("Π", ".__."), GR_RHO("Ρ", "._."), GR_SIGMA("Σ", "..."), GR_TAU("Τ", "_"), GR_UPSILON("Υ", "_.__"),
+        GR_PHI("Φ", ".._."), GR_CHI("Χ", "____"), GR_PSI("Ψ", "__._"), GR_OMEGA("Ω", ".__"),
+        // Japanese kana (Wabun code), in iroha order
+        WA_I("イ", "._"), WA_RO("ロ", "._._"), WA_HA("ハ", "_..."), WA_NI("ニ", "_._."), WA_HO("ホ", "_.."),
+        WA_HE("ヘ", "."), WA_TO("ト", ".._.."), WA_CHI("チ", ".._."), WA_RI("リ", "__."), WA_NU("ヌ", "...."),
+        WA_RU("ル", "_.__."), WA_WO("ヲ", ".___"), WA_WA("ワ", "_._"), WA_KA("カ", "._.."), WA_YO("ヨ", "__"),
+        WA_TA("タ", "_."), WA_RE("レ", "___"), WA_SO("ソ", "___."), WA_TSU("ツ", ".__."), WA_NE("ネ", "__._"),
+        WA_NA("ナ", "._."), WA_RA("ラ", "..."), WA_MU("ム", "_"), WA_U("ウ", ".._"), WA_WI("ヰ", "._.._"),
+        WA_NO("ノ", "..__"), WA_O("オ", "._..."), WA_KU("ク", "..._"), WA_YA("ヤ", ".__"), WA_MA("マ", "_.._"),
+        WA_KE("ケ", "_.__"), WA_FU("フ", "__.."), WA_KO("コ", "____"), WA_E("エ", "_.___"), WA_TE("テ", "._.__"),
+        WA_A("ア", "__.__"), WA_SA("サ", "_._._"), WA_KI("キ", "_._.."), WA_YU("ユ", "_..__"), WA_ME("メ", "_..._"),
+        WA_MI("ミ", ".._._"), WA_SHI("シ", "__._."), WA_WE("ヱ", ".__.."), WA_HI("ヒ", "__.._"), WA_MO("モ", "_.._."),
+        WA_SE("セ", ".___."), WA_SU("ス", "___._"), WA_N("ン", "._._."), WA_DAKUTEN("゛", ".."),
+        WA_HANDAKUTEN("゜", "..__."), WA_CHOONPU("ー", ".__._"), WA_TOUTEN("、", "._._._"),
         // white space entries
         WHITE_SPACE(" ", " "), RETURN("\r", "\r"), NEWLINE("\n", "\n"), TAB("\t","\t"),
         // NONE entry for validation
         NONE("", "");
 
-        private static final char SHORT_MARK = '·';
-        private static final char LONG_MARK = '–';
-        private static final char GAP = ' ';
-        private static final char SIGNAL_MARK = '▓';
-        private static final char SIGNAL_GAP = '˽';
-
-        private static final String SHORT_GAP = STR."\{GAP}";
-        private static final String LONG_GAP = STR."\{GAP}\{GAP}\{GAP}";
-        private static final String SIGNAL_SHORT_MARK = STR."\{SIGNAL_MARK}";
-        private static final String SIGNAL_LONG_MARK = STR."\{SIGNAL_MARK}\{SIGNAL_MARK}\{SIGNAL_MARK}";
-        private static final String SIGNAL_LETTER_GAP = STR."\{SIGNAL_GAP}\{SIGNAL_GAP}\{SIGNAL_GAP}";
-        private static final String SIGNAL_WORD_GAP =
+        static final char SHORT_MARK = '·';
+        static final char LONG_MARK = '–';
+        static final char GAP = ' ';
+        static final char SIGNAL_MARK = '▓';
+        static final char SIGNAL_GAP = '˽';
+
+        static final String SHORT_GAP = STR."\{GAP}";
+        static final String LONG_GAP = STR."\{GAP}\{GAP}\{GAP}";
+        static final String SIGNAL_SHORT_MARK = STR."\{SIGNAL_MARK}";
+        static final String SIGNAL_LONG_MARK = STR."\{SIGNAL_MARK}\{SIGNAL_MARK}\{SIGNAL_MARK}";
+        static final String SIGNAL_LETTER_GAP = STR."\{SIGNAL_GAP}\{SIGNAL_GAP}\{SIGNAL_GAP}";
+        static final String SIGNAL_WORD_GAP =
                 STR."\{SIGNAL_GAP}\{SIGNAL_GAP}\{SIGNAL_GAP}\{SIGNAL_GAP}\{SIGNAL_GAP}\{SIGNAL_GAP}\{SIGNAL_GAP}";
 
-        private final String literal;
-        private final String sequence;
+        static final int NO_CODE = -1;
+        static final int MAX_SEQUENCE_LENGTH = 9;
+
+        // rendered notation of every entry, indexed by ordinal. Built once, so rendering only copies chars.
+        private static final String[] MORSE_NOTATIONS = new String[values().length];
+        private static final String[] SIGNAL_NOTATIONS = new String[values().length];
+        private static final char[][] MORSE_CHARS = new char[values().length][];
+        private static final char[][] SIGNAL_CHARS = new char[values().length][];
+
+        static {
+            for (MorseNotation mn : values()) {
+                MORSE_NOTATIONS[mn.ordinal()] = render(mn, false);
+                SIGNAL_NOTATIONS[mn.ordinal()] = render(mn, true);
+                MORSE_CHARS[mn.ordinal()] = MORSE_NOTATIONS[mn.ordinal()].toCharArray();
+                SIGNAL_CHARS[mn.ordinal()] = SIGNAL_NOTATIONS[mn.ordinal()].toCharArray();
+            }
+        }
+
+        final String literal;
+        final String sequence;
+        private final int code;
 
         MorseNotation(String literal, String sequence) {
             this.literal = literal;
             this.sequence = sequence;
+            this.code = encodeSequence(sequence);
+        }
+
+        /**
+         * Returns the notation of this entry as it appears in {@link MorseCode#getNotation(boolean)}, without the
+         * gaps between letters.
+         * @param asSignalSequence  if true, returns the signal notation
+         * @return                  precomputed notation
+         */
+        String toNotation(boolean asSignalSequence) {
+            return asSignalSequence ? SIGNAL_NOTATIONS[ordinal()] : MORSE_NOTATIONS[ordinal()];
+        }
+
+        /**
+         * Same as {@link #toNotation(boolean)}, but as char array. The array is shared and must not be modified.
+         * @param asSignalSequence  if true, returns the signal notation
+         * @return                  precomputed notation
+         */
+        char[] toChars(boolean asSignalSequence) {
+            return asSignalSequence ? SIGNAL_CHARS[ordinal()] : MORSE_CHARS[ordinal()];
         }
 
-        private static boolean isValid(MorseNotation mc) {
+        /**
+         * Returns the packed dot/dash pattern of this entry.
+         * @return  packed code or {@code NO_CODE} for white space entries
+         * @see MorseAlphabet#fromCode(int)
+         */
+        int code() { return code; }
+
+        static boolean isValid(MorseNotation mc) {
             return mc != NONE;
         }
 
-        private static boolean isWhiteSpace(MorseNotation mc){
+        static boolean isWhiteSpace(MorseNotation mc){
             return  mc == MorseNotation.WHITE_SPACE || mc == MorseNotation.RETURN || mc == MorseNotation.NEWLINE ||
                     mc == MorseNotation.TAB;
         }
 
-        private static MorseNotation search(String searchStr, boolean lookForLiteral) {
-            if(searchStr.equals("ß")){
-                return MorseNotation.SZ;
-            }
-            for (MorseNotation mn : MorseNotation.values()) {
-                boolean isValidNotation = lookForLiteral ?  searchStr.toUpperCase().equals(mn.literal):
-                                                            searchStr.equals(mn.sequence);
-                if (isValidNotation) return mn;
+        /**
+         * Looks up the notation of a single character of the {@link MorseAlphabet#LATIN Latin alphabet} in constant
+         * time. Lower case letters resolve to the same notation as their upper case counterpart.
+         * @param c character to look up
+         * @return  the matching notation or {@code NONE}
+         * @see MorseAlphabet#fromLiteral(char)
+         */
+        static MorseNotation fromLiteral(char c) { return MorseAlphabet.LATIN.fromLiteral(c); }
+
+        /**
+         * Packs a pattern of '.' and '_' into an int. The pattern is stored in the lower bits (dot = 0, dash = 1)
+         * below a leading marker bit, so every pattern length gets its own range of codes. This forms an implicit
+         * binary tree: appending a mark to a code is {@code code << 1 | mark}.
+         * @param pattern   pattern made of '.' and '_'
+         * @return          packed code or {@code NO_CODE} if the pattern contains other chars or is too long
+         */
+        private static int encodeSequence(String pattern) {
+            if (pattern.length() > MAX_SEQUENCE_LENGTH) return NO_CODE;
+
+            int code = 1;
+            for (int i = 0; i < pattern.length(); i++) {
+                switch (pattern.charAt(i)) {
+                    case '.' -> code <<= 1;
+                    case '_' -> code = code << 1 | 1;
+                    default -> { return NO_CODE; }
+                }
             }
-            return NONE;
+            return code;
+        }
+
+        private static String render(MorseNotation mn, boolean isSignalSequence) {
+            final String longGap = isSignalSequence ? SIGNAL_WORD_GAP : LONG_GAP;
+            return switch (mn) {
+                case NEWLINE, RETURN -> mn.literal;
+                case WHITE_SPACE -> longGap;
+                case TAB -> STR."\{longGap}\{longGap}\{longGap}";
+                default -> generateSequence(mn.sequence, isSignalSequence);
+            };
         }
 
         private static String generateSequence(String pattern, boolean isSignalSequence) {
@@ -526,7 +829,7 @@ public class MorseCode {
                         else tmp = shortMark;
                     }
                     case " " -> tmp = shortGap;
-                    default -> System.out.println("\u001B[31m Only use literals '_' or '.' to define pattern\u001B[0m");
+                    default -> getListener().onWarning("Only use literals '_' or '.' to define pattern");
                 }
                 sb.append(tmp);
             }
@@ -0,0 +1,398 @@
+package strings;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import strings.MorseCode.MorseNotation;
+
+/**
+ * Single pass state machine that turns Morse code or signal notation into clear text. Characters are pushed one at a
+ * time and every mark is applied to the packed dot/dash code of the current letter right away, so decoding needs no
+ * regular expressions and creates no intermediate Strings.
+ * <p>
+ * A decoder is a push based session: chunks of a message can be fed as they arrive and every call returns the clear
+ * text of all letters that have been closed by a gap in the meantime. Letters split across chunks are completed by a
+ * later call. The notation is detected from the first char that is not a white space. Leading and trailing white
+ * space of the whole message is ignored, so feeding a message in any number of chunks and calling {@link #finish()}
+ * gives the same result as {@link MorseCode#decode(String)}.
+ * <p>
+ * Morse code notation: letters are separated by a single '{@value MorseNotation#GAP}', every run of three gaps
+ * becomes one white space.<br>
+ * Signal notation: a run of three '{@value MorseNotation#SIGNAL_GAP}' closes a letter, a run of seven closes a word.
+ * A run of three '{@value MorseNotation#SIGNAL_MARK}' is a dash, a single one a dot.<br>
+ * '\r\n', '\r' and '\n' are treated as a line separator in both notations.
+ * <p>
+ * Tokens that are not a valid letter are handled by the {@link DecodePolicy} of the session and recorded with their
+ * position in the message, see {@link #getInvalidTokens()}.
+ */
+public final class MorseDecoder {
+
+    private static final int MAX_TOKEN_PREVIEW = 32;
+    private static final int SPACES_PER_WORD_GAP = 3;
+    private static final int SIGNAL_UNITS_PER_DASH = 3;
+    private static final int SIGNAL_UNITS_PER_LETTER_GAP = 3;
+    private static final int SIGNAL_UNITS_PER_WORD_GAP = 7;
+
+    private enum State { UNKNOWN, MORSE, SIGNAL, INVALID }
+
+    private final boolean isTrimming;
+    private final DecodePolicy policy;
+    private final MorseAlphabet alphabet;
+    private final StringBuilder out = new StringBuilder();
+    private State state;
+
+    // white space is held back until the next mark, so trailing white space of the message can be dropped
+    private final StringBuilder pendingWhiteSpace = new StringBuilder();
+    private boolean hasPendingLetterContent = false;
+
+    // current letter
+    private final StringBuilder token = new StringBuilder();
+    private boolean hasToken = false;
+    private boolean isInvalidToken = false;
+    private int code = 1;
+    private int codeLength = 0;
+    private char whiteSpace = 0;
+    private int whiteSpaceCount = 0;
+
+    // runs of equal chars
+    private int spaceRun = 0;
+    private int markRun = 0;
+    private int gapRun = 0;
+    private boolean hasPendingReturn = false;
+
+    // symbols dropped since the last drain
+    private int unknownSymbols = 0;
+
+    // invalid tokens of the current message, positions are counted from the start of the message
+    private final List<DecodeResult.InvalidToken> invalidTokens = new ArrayList<>();
+    private long invalidTokenCount = 0;
+    private long position = 0;
+    private long charPosition = 0;
+    private long tokenPosition = 0;
+    private long pendingWhiteSpacePosition = 0;
+    private boolean isNewMessage = true;
+
+    /**
+     * Creates a decoder session that detects the notation from the first char of the message and drops invalid
+     * tokens.
+     */
+    public MorseDecoder() { this(DecodePolicy.SKIP); }
+
+    /**
+     * Creates a decoder session that detects the notation from the first char of the message.
+     * @param policy    handling of invalid tokens
+     */
+    public MorseDecoder(DecodePolicy policy) { this(policy, MorseAlphabet.LATIN); }
+
+    /**
+     * Creates a decoder session for a message in {@code alphabet} that detects the notation from the first char of
+     * the message.
+     * @param policy    handling of invalid tokens
+     * @param alphabet  alphabet the message was encoded in
+     */
+    public MorseDecoder(DecodePolicy policy, MorseAlphabet alphabet) {
+        if (policy == null || alphabet == null) {
+            throw new IllegalArgumentException("\u001B[31m'policy' and 'alphabet' must not be null\u001B[0m");
+        }
+        this.isTrimming = true;
+        this.policy = policy;
+        this.alphabet = alphabet;
+        this.state = State.UNKNOWN;
+    }
+
+    /**
+     * Creates a decoder for a known notation that decodes every char as is, including leading and trailing white
+     * space. Used to decode parts of a message independently.
+     * @param isSignalSequence  if true, the input is read as signal notation, otherwise as Morse code notation
+     */
+    MorseDecoder(boolean isSignalSequence) {
+        this.isTrimming = false;
+        this.policy = DecodePolicy.SKIP;
+        this.alphabet = MorseAlphabet.LATIN;
+        this.state = isSignalSequence ? State.SIGNAL : State.MORSE;
+    }
+
+    /**
+     * Returns true if {@code c} can start a Morse code or signal sequence.
+     */
+    static boolean isMorseChar(char c) {
+        return isSignalChar(c) || c == MorseNotation.SHORT_MARK || c == MorseNotation.LONG_MARK;
+    }
+
+    /**
+     * Returns true if {@code c} can start a signal sequence.
+     */
+    static boolean isSignalChar(char c) {
+        return c == MorseNotation.SIGNAL_MARK || c == MorseNotation.SIGNAL_GAP;
+    }
+
+    /**
+     * Pushes the next chunk of the message.
+     * @param chunk part of a message in Morse code or signal notation
+     * @return      clear text of every letter that has been completed by this chunk. Might be empty.
+     * @throws IllegalArgumentException if the chunk completes an invalid token and the policy is
+     *                                  {@link DecodePolicy#FAIL_FAST}
+     */
+    public String feed(CharSequence chunk) {
+        if (chunk == null) {
+            throw new IllegalArgumentException("\u001B[31m'chunk' must not be null\u001B[0m");
+        }
+        if (isNewMessage) {
+            isNewMessage = false;
+            invalidTokens.clear();
+            invalidTokenCount = 0;
+            position = 0;
+        }
+        for (int i = 0; i < chunk.length(); i++) {
+            charPosition = position++;
+            push(chunk.charAt(i));
+        }
+        return drain();
+    }
+
+    /**
+     * Returns the first {@value DecodeResult#MAX_REPORTED_TOKENS} invalid tokens of the current message. After
+     * {@link #finish()} they are kept until the next message is fed.
+     */
+    public List<DecodeResult.InvalidToken> getInvalidTokens() { return List.copyOf(invalidTokens); }
+
+    /**
+     * Returns the number of invalid tokens of the current message.
+     * @see #getInvalidTokens()
+     */
+    public long getInvalidTokenCount() { return invalidTokenCount; }
+
+    /**
+     * Closes the last letter of the message and resets the session, so it can be used for the next message.
+     * @return clear text of the last letter. Might be empty.
+     */
+    public String finish() {
+        if (state == State.MORSE || state == State.SIGNAL) {
+            endRuns();
+            closeToken();
+        }
+        hasPendingReturn = false;
+        pendingWhiteSpace.setLength(0);
+        hasPendingLetterContent = false;
+        if (isTrimming) state = State.UNKNOWN;
+        isNewMessage = true;
+        return drain();
+    }
+
+    private String drain() {
+        final MorseListener listener = MorseCode.getListener();
+        if (listener != MorseListener.NO_OP && (out.length() > 0 || unknownSymbols > 0)) {
+            listener.onDecoded(out.length(), unknownSymbols);
+        }
+        unknownSymbols = 0;
+        String str = out.toString();
+        out.setLength(0);
+        return str;
+    }
+
+    private void push(char c) {
+        if (!isTrimming) {
+            accept(c);
+            return;
+        }
+        if (c <= ' ') {
+            holdBack(c);
+            return;
+        }
+        if (state == State.UNKNOWN) {
+            if (isMorseChar(c)) {
+                state = isSignalChar(c) ? State.SIGNAL : State.MORSE;
+            } else {
+                MorseCode.getListener().onWarning("String object 'morseCode' is not a valid Morse Code");
+                state = State.INVALID;
+                tokenPosition = charPosition;
+                reportInvalidToken(String.valueOf(c));
+            }
+        }
+        if (state == State.INVALID) return;
+
+        final long markPosition = charPosition;
+        for (int i = 0; i < pendingWhiteSpace.length(); i++) {
+            charPosition = pendingWhiteSpacePosition + i;
+            accept(pendingWhiteSpace.charAt(i));
+        }
+        charPosition = markPosition;
+        pendingWhiteSpace.setLength(0);
+        hasPendingLetterContent = false;
+        accept(c);
+    }
+
+    private void holdBack(char c) {
+        // leading white space is dropped
+        if (state == State.UNKNOWN || state == State.INVALID) return;
+
+        // the current letter can be closed right away, unless the white space might still become part of it
+        boolean closesLetter = c == '\r' || c == '\n' || (state == State.MORSE && c == MorseNotation.GAP);
+        if (closesLetter && !hasPendingLetterContent) {
+            endRuns();
+            closeToken();
+        }
+        hasPendingLetterContent |= !closesLetter;
+        if (pendingWhiteSpace.isEmpty()) pendingWhiteSpacePosition = charPosition;
+        pendingWhiteSpace.append(c);
+    }
+
+    private void accept(char c) {
+        if (hasPendingReturn) {
+            hasPendingReturn = false;
+            if (c == '\n') return;
+        }
+        switch (c) {
+            case '\r', '\n' -> {
+                hasPendingReturn = c == '\r';
+                endRuns();
+                closeToken();
+                out.append(MorseCode.LINE_SEPARATOR);
+            }
+            default -> {
+                if (state == State.SIGNAL) acceptSignalChar(c);
+                else acceptMorseChar(c);
+            }
+        }
+    }
+
+    private void acceptMorseChar(char c) {
+        if (c == MorseNotation.GAP) {
+            closeToken();
+            if (++spaceRun == SPACES_PER_WORD_GAP) {
+                out.append(MorseNotation.WHITE_SPACE.literal);
+                spaceRun = 0;
+            }
+            return;
+        }
+        spaceRun = 0;
+        switch (c) {
+            case MorseNotation.SHORT_MARK -> pushMark(false, c);
+            case MorseNotation.LONG_MARK -> pushMark(true, c);
+            default -> pushOther(c);
+        }
+    }
+
+    private void acceptSignalChar(char c) {
+        if (c == MorseNotation.SIGNAL_MARK) {
+            endGapRun();
+            markRun++;
+            appendPreview(c);
+            return;
+        }
+        endMarkRun();
+        if (c == MorseNotation.SIGNAL_GAP) {
+            gapRun++;
+            // the first letter gap of a run ends the letter, every full word gap adds a white space
+            if (gapRun == SIGNAL_UNITS_PER_LETTER_GAP) closeToken();
+            if (gapRun % SIGNAL_UNITS_PER_WORD_GAP == 0) out.append(MorseNotation.WHITE_SPACE.literal);
+            return;
+        }
+        endGapRun();
+        pushOther(c);
+    }
+
+    private void endRuns() {
+        spaceRun = 0;
+        endMarkRun();
+        endGapRun();
+    }
+
+    private void endMarkRun() {
+        if (markRun == 0) return;
+        for (int i = 0; i < markRun / SIGNAL_UNITS_PER_DASH; i++) pushCode(true);
+        for (int i = 0; i < markRun % SIGNAL_UNITS_PER_DASH; i++) pushCode(false);
+        markRun = 0;
+    }
+
+    private void endGapRun() {
+        if (gapRun == 0) return;
+        // gaps that are too short to form a letter gap belong to the next letter and are ignored
+        int leftover = gapRun < SIGNAL_UNITS_PER_LETTER_GAP ? gapRun :
+                                gapRun % SIGNAL_UNITS_PER_WORD_GAP % SIGNAL_UNITS_PER_LETTER_GAP;
+        for (int i = 0; i < leftover; i++) appendPreview(MorseNotation.SIGNAL_GAP);
+        gapRun = 0;
+    }
+
+    private void pushMark(boolean isLong, char c) {
+        appendPreview(c);
+        pushCode(isLong);
+    }
+
+    private void pushCode(boolean isLong) {
+        startToken();
+        if (++codeLength > MorseNotation.MAX_SEQUENCE_LENGTH) {
+            isInvalidToken = true;
+            return;
+        }
+        code = code << 1 | (isLong ? 1 : 0);
+    }
+
+    private void pushOther(char c) {
+        appendPreview(c);
+        switch (c) {
+            case '.' -> pushCode(false);
+            case '_' -> pushCode(true);
+            default -> {
+                // a lone white space char decodes to itself
+                whiteSpace = c;
+                whiteSpaceCount++;
+                isInvalidToken |= !MorseNotation.isWhiteSpace(MorseNotation.fromLiteral(c));
+            }
+        }
+    }
+
+    private void appendPreview(char c) {
+        startToken();
+        if (token.length() < MAX_TOKEN_PREVIEW) token.append(c);
+    }
+
+    private void closeToken() {
+        if (!hasToken) return;
+
+        MorseNotation mn = MorseNotation.NONE;
+        if (!isInvalidToken && whiteSpaceCount == 0) {
+            mn = alphabet.fromCode(code);
+        } else if (!isInvalidToken && whiteSpaceCount == 1 && codeLength == 0) {
+            mn = alphabet.fromLiteral(whiteSpace);
+        }
+
+        final String invalidToken = MorseNotation.isValid(mn) ? null : token.toString();
+        token.setLength(0);
+        hasToken = false;
+        isInvalidToken = false;
+        code = 1;
+        codeLength = 0;
+        whiteSpaceCount = 0;
+
+        if (invalidToken == null) {
+            out.append(mn.literal);
+        } else {
+            reportInvalidToken(invalidToken);
+        }
+    }
+
+    private void startToken() {
+        if (!hasToken) tokenPosition = charPosition;
+        hasToken = true;
+    }
+
+    private void reportInvalidToken(String invalidToken) {
+        unknownSymbols++;
+        invalidTokenCount++;
+        if (invalidTokens.size() < DecodeResult.MAX_REPORTED_TOKENS) {
+            invalidTokens.add(new DecodeResult.InvalidToken(tokenPosition, invalidToken));
+        }
+        final MorseListener listener = MorseCode.getListener();
+        if (listener != MorseListener.NO_OP) {
+            listener.onWarning(STR."No valid character conversion found for String '\{invalidToken}'");
+        }
+        switch (policy) {
+            case SKIP -> {}
+            case REPLACE -> out.append(DecodePolicy.REPLACEMENT);
+            case FAIL_FAST -> throw new IllegalArgumentException(
+                    STR."\u001B[31mNo valid character conversion found for '\{invalidToken}' at \{tokenPosition}" +
+                    "\u001B[0m");
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package strings;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Locale;
+
+import strings.MorseCode.MorseNotation;
+
+/**
+ * Streaming counterpart to {@link MorseCode#getNotation(boolean)}. Clear text is read from a {@code Reader} or
+ * {@code CharSequence} and written straight to an {@code Appendable}, so the encoder only ever holds a fixed size read
+ * buffer and a single character of lookahead in memory. The produced output is identical to
+ * {@code new MorseCode(message, alphabet).getNotation(asSignalSequence)}.
+ */
+public final class MorseEncoder {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final MorseAlphabet alphabet;
+    private final boolean isGerman;
+    private final boolean asSignalSequence;
+    private final String shortGap;
+
+    // lookahead state, kept across buffer boundaries
+    private boolean hasPendingC = false;
+    private boolean hasPendingReturn = false;
+    private MorseNotation previous = null;
+
+    // instrumentation of the current message
+    private MorseListener listener = MorseListener.NO_OP;
+    private long start = 0;
+    private int encoded = 0;
+    private int unknownCharacters = 0;
+
+    /**
+     * Creates an encoder that writes Morse code notation.
+     * @param language  language of the clear text, see {@link MorseAlphabet#of(Locale)}
+     */
+    public MorseEncoder(Locale language) { this(language, false); }
+
+    /**
+     * Creates an encoder that writes Morse code or signal notation.
+     * @param language          language of the clear text, see {@link MorseAlphabet#of(Locale)}
+     * @param asSignalSequence  if true, writes the message in signal notation
+     */
+    public MorseEncoder(Locale language, boolean asSignalSequence) {
+        this(MorseAlphabet.of(language), asSignalSequence);
+    }
+
+    /**
+     * Creates an encoder that writes Morse code or signal notation.
+     * @param alphabet          alphabet to look up the clear text in
+     * @param asSignalSequence  if true, writes the message in signal notation
+     */
+    public MorseEncoder(MorseAlphabet alphabet, boolean asSignalSequence) {
+        if (alphabet == null) {
+            throw new IllegalArgumentException("\u001B[31m'alphabet' must not be null\u001B[0m");
+        }
+        this.alphabet = alphabet;
+        this.isGerman = alphabet == MorseAlphabet.GERMAN;
+        this.asSignalSequence = asSignalSequence;
+        this.shortGap = asSignalSequence ? MorseNotation.SIGNAL_LETTER_GAP : MorseNotation.SHORT_GAP;
+    }
+
+    /**
+     * Encodes a whole message and writes it to {@code out}.
+     * @param message   clear text to encode
+     * @param out       destination of the Morse code
+     * @throws IOException if {@code out} can not be written to
+     */
+    public void encode(CharSequence message, Appendable out) throws IOException {
+        if (message == null || out == null) {
+            throw new IllegalArgumentException("\u001B[31m'message' and 'out' must not be null\u001B[0m");
+        }
+        begin();
+        for (int i = 0; i < message.length(); i++) {
+            accept(message.charAt(i), out);
+        }
+        finish(out);
+    }
+
+    /**
+     * Reads the message from {@code in} until the end of the stream is reached and writes it to {@code out}. The
+     * reader is not closed.
+     * @param in    source of the clear text
+     * @param out   destination of the Morse code
+     * @throws IOException if reading from {@code in} or writing to {@code out} fails
+     */
+    public void encode(Reader in, Appendable out) throws IOException {
+        if (in == null || out == null) {
+            throw new IllegalArgumentException("\u001B[31m'in' and 'out' must not be null\u001B[0m");
+        }
+        begin();
+        final char[] buffer = new char[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer, 0, buffer.length)) != -1) {
+            for (int i = 0; i < read; i++) {
+                accept(buffer[i], out);
+            }
+        }
+        finish(out);
+    }
+
+    private void begin() {
+        reset();
+        listener = MorseCode.getListener();
+        start = listener == MorseListener.NO_OP ? 0 : System.nanoTime();
+        encoded = 0;
+        unknownCharacters = 0;
+    }
+
+    private void reset() {
+        hasPendingC = false;
+        hasPendingReturn = false;
+        previous = null;
+    }
+
+    private void accept(char c, Appendable out) throws IOException {
+        // '\r\n', '\r' and '\n' are all treated as a single line separator
+        if (hasPendingReturn) {
+            hasPendingReturn = false;
+            writeLineSeparator(out);
+            if (c == '\n') return;
+        }
+        if (hasPendingC) {
+            hasPendingC = false;
+            if (c == 'H' || c == 'h') {
+                write(MorseNotation.CH, out);
+                return;
+            }
+            write(MorseNotation.C, out);
+        }
+
+        switch (c) {
+            case '\r' -> hasPendingReturn = true;
+            case '\n' -> writeLineSeparator(out);
+            default -> {
+                if (isGerman && (c == 'C' || c == 'c')) {
+                    hasPendingC = true;
+                    return;
+                }
+                MorseNotation mn = alphabet.fromLiteral(c);
+                if (!MorseNotation.isValid(mn)) {
+                    unknownCharacters++;
+                    if (listener != MorseListener.NO_OP) {
+                        listener.onWarning(STR."No valid Morse code available for character '\{c}'");
+                    }
+                }
+                write(mn, out);
+                MorseNotation mark = alphabet.markOf(c);
+                if (mark != null) write(mark, out);
+            }
+        }
+    }
+
+    private void finish(Appendable out) throws IOException {
+        if (hasPendingReturn) writeLineSeparator(out);
+        if (hasPendingC) write(MorseNotation.C, out);
+        reset();
+        if (listener != MorseListener.NO_OP) {
+            listener.onEncoded(encoded, unknownCharacters);
+            listener.onCompleted(MorseListener.Operation.ENCODE, System.nanoTime() - start);
+        }
+    }
+
+    private void writeLineSeparator(Appendable out) throws IOException {
+        for (int i = 0; i < MorseCode.LINE_SEPARATOR.length(); i++) {
+            write(MorseNotation.fromLiteral(MorseCode.LINE_SEPARATOR.charAt(i)), out);
+        }
+    }
+
+    private void write(MorseNotation current, Appendable out) throws IOException {
+        // letters are separated by a short gap, unless one of them is a white space
+        boolean needsGap = previous != null && !MorseNotation.isWhiteSpace(previous) &&
+                           !MorseNotation.isWhiteSpace(current);
+        if (needsGap) out.append(shortGap);
+        out.append(current.toNotation(asSignalSequence));
+        previous = current;
+        encoded++;
+    }
+}
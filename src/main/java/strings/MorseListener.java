@@ -0,0 +1,74 @@
+package strings;
+
+/**
+ * Receives metrics and warnings of encoding, decoding and signal synthesis. A listener is registered globally with
+ * {@link MorseCode#setListener(MorseListener)}; the default {@link #NO_OP} listener drops everything, and as long as it
+ * is registered no clock is read and no warning message is built.
+ * <p>
+ * Every method has an empty default, so an implementation only overrides what it needs. Methods are called on the
+ * thread doing the work, possibly on many threads at once, so implementations must be thread safe and cheap.
+ * @see MorseMetrics
+ */
+public interface MorseListener {
+
+    /**
+     * Operations whose latency is reported.
+     */
+    enum Operation {
+        /** Looking up a clear text message, by the {@link MorseCode} constructor or a {@link MorseEncoder}. */
+        ENCODE,
+        /** Decoding a whole message, by {@link MorseCode#decode(String)}, {@link MorseCode#decodeTiming} or
+         *  {@link MorseAudioDecoder}. */
+        DECODE,
+        /** Rendering one buffer of audio samples. */
+        SYNTHESIZE
+    }
+
+    /**
+     * Listener that ignores all calls. Registered by default.
+     */
+    MorseListener NO_OP = new MorseListener() {};
+
+    /**
+     * Returns a listener that prints warnings to {@code System.out} and ignores metrics.
+     */
+    static MorseListener console() {
+        return new MorseListener() {
+            @Override
+            public void onWarning(String message) { System.out.println(STR."\u001B[33m \{message}\u001B[0m"); }
+        };
+    }
+
+    /**
+     * Called after clear text has been looked up.
+     * @param characters            number of characters looked up
+     * @param unknownCharacters     number of those without a Morse code
+     */
+    default void onEncoded(int characters, int unknownCharacters) {}
+
+    /**
+     * Called every time a decoder hands out clear text.
+     * @param characters        number of characters decoded
+     * @param unknownSymbols    number of symbols that could not be decoded and were dropped
+     */
+    default void onDecoded(int characters, int unknownSymbols) {}
+
+    /**
+     * Called after a buffer of audio samples has been rendered.
+     * @param samples   number of samples rendered
+     */
+    default void onSynthesized(long samples) {}
+
+    /**
+     * Called after an operation has completed.
+     * @param operation     the completed operation
+     * @param nanos         time taken in nanoseconds
+     */
+    default void onCompleted(Operation operation, long nanos) {}
+
+    /**
+     * Called for problems that do not stop the operation, e.g. characters without a Morse code, which are dropped.
+     * @param message   description of the problem, without formatting
+     */
+    default void onWarning(String message) {}
+}
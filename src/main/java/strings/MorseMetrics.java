@@ -0,0 +1,131 @@
+package strings;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Listener that counts what passes through it and keeps a latency histogram per {@link MorseListener.Operation}.
+ * Counters are {@code LongAdder}s, so recording does not contend between threads, and the histograms use power of two
+ * buckets, so recording a latency is a single increment. Values can be read at any time while recording goes on.
+ * <pre>{@code
+ * MorseMetrics metrics = new MorseMetrics();
+ * MorseCode.setListener(metrics);
+ * ...
+ * long p99 = metrics.getLatencyPercentile(MorseListener.Operation.DECODE, 0.99);
+ * }</pre>
+ */
+public final class MorseMetrics implements MorseListener {
+
+    // bucket i holds latencies below 2^i nanoseconds and at least 2^(i-1)
+    private static final int BUCKETS = Long.SIZE;
+
+    private final LongAdder charactersEncoded = new LongAdder();
+    private final LongAdder unknownCharacters = new LongAdder();
+    private final LongAdder charactersDecoded = new LongAdder();
+    private final LongAdder unknownSymbols = new LongAdder();
+    private final LongAdder samplesSynthesized = new LongAdder();
+    private final LongAdder warnings = new LongAdder();
+    private final Map<Operation, AtomicLongArray> latencies = new EnumMap<>(Operation.class);
+
+    public MorseMetrics() {
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new AtomicLongArray(BUCKETS));
+        }
+    }
+
+    @Override
+    public void onEncoded(int characters, int unknownCharacters) {
+        charactersEncoded.add(characters);
+        this.unknownCharacters.add(unknownCharacters);
+    }
+
+    @Override
+    public void onDecoded(int characters, int unknownSymbols) {
+        charactersDecoded.add(characters);
+        this.unknownSymbols.add(unknownSymbols);
+    }
+
+    @Override
+    public void onSynthesized(long samples) { samplesSynthesized.add(samples); }
+
+    @Override
+    public void onCompleted(Operation operation, long nanos) {
+        latencies.get(operation).incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(Math.max(0, nanos)));
+    }
+
+    @Override
+    public void onWarning(String message) { warnings.increment(); }
+
+    public long getCharactersEncoded() { return charactersEncoded.sum(); }
+
+    public long getUnknownCharacters() { return unknownCharacters.sum(); }
+
+    public long getCharactersDecoded() { return charactersDecoded.sum(); }
+
+    public long getUnknownSymbols() { return unknownSymbols.sum(); }
+
+    public long getSamplesSynthesized() { return samplesSynthesized.sum(); }
+
+    public long getWarnings() { return warnings.sum(); }
+
+    /**
+     * Returns the number of completed runs of {@code operation}.
+     */
+    public long getCount(Operation operation) {
+        long count = 0;
+        for (long bucket : getLatencyHistogram(operation)) {
+            count += bucket;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the latency histogram of {@code operation}. Element {@code i} counts the runs that took less than
+     * {@code 2^i} and at least {@code 2^(i-1)} nanoseconds.
+     */
+    public long[] getLatencyHistogram(Operation operation) {
+        if (operation == null) {
+            throw new IllegalArgumentException("\u001B[31m'operation' must not be null\u001B[0m");
+        }
+        AtomicLongArray buckets = latencies.get(operation);
+        long[] histogram = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram[i] = buckets.get(i);
+        }
+        return histogram;
+    }
+
+    /**
+     * Returns an upper bound of the latency that {@code percentile} of the runs of {@code operation} stayed below.
+     * The bound is at most twice the exact value.
+     * @param percentile    between 0 and 1, e.g. 0.99
+     * @return              latency in nanoseconds, 0 if the operation has not run yet
+     */
+    public long getLatencyPercentile(Operation operation, double percentile) {
+        if (!(percentile >= 0 && percentile <= 1)) {
+            throw new IllegalArgumentException("\u001B[31m'percentile' must be between 0 and 1\u001B[0m");
+        }
+        long[] histogram = getLatencyHistogram(operation);
+        long count = 0;
+        for (long bucket : histogram) {
+            count += bucket;
+        }
+        if (count == 0) return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(percentile * count));
+        for (int i = 0; i < BUCKETS; i++) {
+            rank -= histogram[i];
+            if (rank <= 0) return (1L << i) - 1;
+        }
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public String toString() {
+        return STR."MorseMetrics[encoded=\{getCharactersEncoded()}, unknownCharacters=\{getUnknownCharacters()}, " +
+               STR."decoded=\{getCharactersDecoded()}, unknownSymbols=\{getUnknownSymbols()}, " +
+               STR."samples=\{getSamplesSynthesized()}, warnings=\{getWarnings()}]";
+    }
+}
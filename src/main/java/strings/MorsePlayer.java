@@ -0,0 +1,278 @@
+package strings;
+
+import javax.sound.sampled.*;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Plays Morse code messages in the background. Messages are played one after another on a single playback thread,
+ * so callers are never blocked by the sound system. The {@code SourceDataLine} is opened with the first message and
+ * kept open for the following ones, which saves the line setup per message.
+ * <p>
+ * Every call to {@link #play(MorseCode, int, int)} returns a {@link Playback} handle to pause, resume or cancel the
+ * message and to wait for it to finish.
+ */
+public final class MorsePlayer implements AutoCloseable {
+
+    /**
+     * Provides the line used for playback. Allows to play on a specific mixer or to replace the sound system in tests.
+     */
+    @FunctionalInterface
+    public interface LineFactory {
+        SourceDataLine getLine(AudioFormat format) throws LineUnavailableException;
+    }
+
+    /**
+     * Receives the playback progress of a message.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * Called from the playback thread every time a buffer has been handed to the line.
+         * @param framesPlayed  number of frames written to the line so far
+         * @param frameLength   number of frames of the whole message
+         */
+        void onProgress(long framesPlayed, long frameLength);
+    }
+
+    // a quarter of a second of audio, which is also the latency of pause and cancel
+    private static final int BUFFER_SECONDS_DIVISOR = 4;
+
+    private final LineFactory lineFactory;
+    private final ExecutorService executor;
+    private final Set<Playback> unfinished = ConcurrentHashMap.newKeySet();
+
+    // only accessed from the playback thread
+    private SourceDataLine line;
+
+    /**
+     * Creates a player using the default line of the sound system.
+     */
+    public MorsePlayer() { this(AudioSystem::getSourceDataLine); }
+
+    /**
+     * Creates a player using a line of the given mixer.
+     * @param mixerInfo mixer to play on
+     */
+    public MorsePlayer(Mixer.Info mixerInfo) {
+        this(format -> AudioSystem.getSourceDataLine(format, mixerInfo));
+        if (mixerInfo == null) {
+            throw new IllegalArgumentException("\u001B[31m'mixerInfo' must not be null\u001B[0m");
+        }
+    }
+
+    /**
+     * Creates a player using the lines provided by {@code lineFactory}.
+     * @param lineFactory   provides the line. It is asked again only if the audio format changes.
+     */
+    public MorsePlayer(LineFactory lineFactory) {
+        if (lineFactory == null) {
+            throw new IllegalArgumentException("\u001B[31m'lineFactory' must not be null\u001B[0m");
+        }
+        this.lineFactory = lineFactory;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "morse-playback");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues a message for playback.
+     * @see #play(MorseCode, int, int, ProgressListener)
+     */
+    public Playback play(MorseCode morseCode, int wordsPerMinute, int beepFrequency) {
+        return play(morseCode, wordsPerMinute, beepFrequency, null);
+    }
+
+    /**
+     * Queues a message for playback. The message starts playing once all messages queued before it are finished.
+     * @param morseCode         message to play
+     * @param wordsPerMinute    determines signal playback speed. Clamped between 1 and 50.
+     * @param beepFrequency     frequency of the beeping sound in hertz. Clamped between 50 and 20000 Hz
+     * @param listener          receives the progress of the playback, may be null
+     * @return                  handle of the playback
+     */
+    public Playback play(MorseCode morseCode, int wordsPerMinute, int beepFrequency, ProgressListener listener) {
+        return play(morseCode, MorseCode.getTimingProfile(wordsPerMinute), beepFrequency, listener);
+    }
+
+    /**
+     * Queues a message for playback. The message starts playing once all messages queued before it are finished.
+     * @param morseCode         message to play
+     * @param profile           speed, weighting and sample rate of the signal
+     * @param beepFrequency     frequency of the beeping sound in hertz. Clamped between 50 and 20000 Hz
+     * @param listener          receives the progress of the playback, may be null
+     * @return                  handle of the playback
+     */
+    public Playback play(MorseCode morseCode, TimingProfile profile, int beepFrequency, ProgressListener listener) {
+        if (morseCode == null) {
+            throw new IllegalArgumentException("\u001B[31m'morseCode' must not be null\u001B[0m");
+        }
+        Playback playback = new Playback(morseCode.getAudioInputStream(profile, beepFrequency), listener);
+        unfinished.add(playback);
+        playback.future.whenComplete((result, throwable) -> unfinished.remove(playback));
+        try {
+            executor.execute(playback::run);
+        } catch (RejectedExecutionException e) {
+            playback.future.completeExceptionally(new IllegalStateException("\u001B[31mPlayer is closed\u001B[0m"));
+        }
+        return playback;
+    }
+
+    /**
+     * Cancels the current and all queued messages, closes the line and waits for the playback thread to stop.
+     * Further calls to {@code play} return a failed playback.
+     */
+    @Override
+    public void close() {
+        for (Playback playback : unfinished) {
+            playback.cancel();
+        }
+        try {
+            executor.execute(this::closeLine);
+        } catch (RejectedExecutionException e) {
+            // already closed
+        }
+        executor.close();
+    }
+
+    private SourceDataLine getLine(AudioFormat format) throws LineUnavailableException {
+        if (line != null && line.isOpen() && line.getFormat().matches(format)) {
+            return line;
+        }
+        closeLine();
+        SourceDataLine newLine = lineFactory.getLine(format);
+        newLine.open(format, (int) format.getFrameRate() / BUFFER_SECONDS_DIVISOR * format.getFrameSize());
+        newLine.start();
+        line = newLine;
+        return line;
+    }
+
+    private void closeLine() {
+        if (line != null) line.close();
+        line = null;
+    }
+
+    /**
+     * Handle of a single queued message.
+     */
+    public final class Playback {
+
+        private final AudioInputStream ais;
+        private final ProgressListener listener;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private final Object pauseLock = new Object();
+        private volatile boolean isPaused = false;
+        private volatile long framesPlayed = 0;
+
+        private Playback(AudioInputStream ais, ProgressListener listener) {
+            this.ais = ais;
+            this.listener = listener;
+        }
+
+        /**
+         * Returns a future that completes once the message has been played completely. It completes exceptionally
+         * if the line could not be opened and is cancelled if the playback is cancelled.
+         */
+        public CompletableFuture<Void> future() { return future; }
+
+        /**
+         * Stops the playback of this message. Audio already handed to the line is discarded. Messages queued after
+         * this one are not affected.
+         * @return false if the message has already been played completely
+         */
+        public boolean cancel() {
+            boolean isCancelled = future.cancel(false);
+            resume();
+            return isCancelled;
+        }
+
+        /**
+         * Pauses the playback. A message that has not started yet is paused as soon as it starts.
+         */
+        public void pause() { isPaused = true; }
+
+        /**
+         * Continues a paused playback.
+         */
+        public void resume() {
+            synchronized (pauseLock) {
+                isPaused = false;
+                pauseLock.notifyAll();
+            }
+        }
+
+        public boolean isPaused() { return isPaused; }
+
+        public boolean isDone() { return future.isDone(); }
+
+        /**
+         * Returns the number of frames handed to the line so far.
+         */
+        public long getFramesPlayed() { return framesPlayed; }
+
+        /**
+         * Returns the number of frames of the whole message.
+         */
+        public long getFrameLength() { return ais.getFrameLength(); }
+
+        /**
+         * Returns the share of the message handed to the line so far, between 0 and 1.
+         */
+        public double getProgress() {
+            long frameLength = getFrameLength();
+            return frameLength <= 0 ? 1.0 : (double) framesPlayed / frameLength;
+        }
+
+        private void run() {
+            try (ais) {
+                if (future.isDone()) return;
+                final SourceDataLine line = getLine(ais.getFormat());
+                final int frameSize = ais.getFormat().getFrameSize();
+                // half of the line's buffer, at least a frame even for lines with tiny buffers
+                final int bufferSize = line.getBufferSize() / 2 - line.getBufferSize() / 2 % frameSize;
+                final byte[] buffer = new byte[Math.max(frameSize, bufferSize)];
+
+                int read;
+                while (!future.isDone() && (read = ais.read(buffer, 0, buffer.length)) != -1) {
+                    if (isPaused) awaitResume(line);
+                    if (future.isDone()) break;
+                    line.write(buffer, 0, read);
+                    framesPlayed += read / frameSize;
+                    if (listener != null) listener.onProgress(framesPlayed, getFrameLength());
+                }
+
+                if (future.isCancelled()) {
+                    // drop the audio of this message, so the next one starts right away
+                    line.stop();
+                    line.flush();
+                    line.start();
+                    return;
+                }
+                line.drain();
+                future.complete(null);
+            } catch (LineUnavailableException | IOException | RuntimeException e) {
+                closeLine();
+                future.completeExceptionally(e);
+            } catch (InterruptedException e) {
+                closeLine();
+                future.cancel(false);
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void awaitResume(SourceDataLine line) throws InterruptedException {
+            line.stop();
+            synchronized (pauseLock) {
+                while (isPaused && !future.isDone()) pauseLock.wait();
+            }
+            line.start();
+        }
+    }
+}
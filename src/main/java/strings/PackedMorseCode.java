@@ -0,0 +1,158 @@
+package strings;
+
+import javax.sound.sampled.AudioInputStream;
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.RandomAccess;
+
+import strings.MorseCode.MorseNotation;
+
+/**
+ * Immutable, compact form of a {@link MorseCode} message. Every character is stored as an {@value #SYMBOL_BITS}-bit
+ * code in a {@code long[]}: the dot/dash pattern below a leading marker bit (see {@link MorseNotation#code()}), so a
+ * code holds both the length and the marks of its pattern. White space characters use reserved codes above all
+ * patterns, and codes are resolved in the {@link MorseAlphabet} of the message. A message therefore takes less than
+ * one and a half bytes per character plus a single array, compared to one reference per character in a
+ * {@code MorseCode}. Like a receiver, a message resolves every pattern to the letter of its own alphabet, so Latin
+ * letters packed in e.g. a Cyrillic message unpack as the Cyrillic letters with the same pattern.
+ * <p>
+ * Clear text, notation and audio are generated straight from the packed codes without unpacking the message first.
+ */
+public final class PackedMorseCode {
+
+    static final int SYMBOL_BITS = 11;
+    private static final long SYMBOL_MASK = (1L << SYMBOL_BITS) - 1;
+    // patterns use codes below 2^(MAX_SEQUENCE_LENGTH + 1), white space entries are stored above them
+    private static final int WHITE_SPACE_CODE = 2 << MorseNotation.MAX_SEQUENCE_LENGTH;
+    private static final MorseNotation[] WHITE_SPACES = {
+            MorseNotation.WHITE_SPACE, MorseNotation.RETURN, MorseNotation.NEWLINE, MorseNotation.TAB
+    };
+
+    private final long[] codes;
+    private final int length;
+    private final MorseAlphabet alphabet;
+
+    /**
+     * Packs a clear text message.
+     * @param message   clear text
+     * @param language  language of the message
+     * @return          packed message
+     * @see MorseCode#MorseCode(String, Locale)
+     */
+    public static PackedMorseCode of(String message, Locale language) {
+        return new MorseCode(message, language).pack();
+    }
+
+    PackedMorseCode(List<MorseNotation> literals, MorseAlphabet alphabet) {
+        this.alphabet = alphabet;
+        this.length = literals.size();
+        this.codes = new long[(int) (((long) length * SYMBOL_BITS + Long.SIZE - 1) / Long.SIZE)];
+        for (int i = 0; i < length; i++) {
+            put(i, pack(literals.get(i)));
+        }
+    }
+
+    /**
+     * Returns the number of characters of the message.
+     */
+    public int length() { return length; }
+
+    /**
+     * Returns the message as a regular {@code MorseCode} object, backed by this packed message.
+     */
+    public MorseCode unpack() { return new MorseCode(new View(), alphabet); }
+
+    /**
+     * @see MorseCode#getClearText()
+     */
+    public String getClearText() { return unpack().getClearText(); }
+
+    /**
+     * @see MorseCode#getNotation(boolean)
+     */
+    public String getNotation(boolean asSignalSequence) { return unpack().getNotation(asSignalSequence); }
+
+    /**
+     * @see MorseCode#getNotation(boolean, Appendable)
+     */
+    public <A extends Appendable> A getNotation(boolean asSignalSequence, A out) throws IOException {
+        return unpack().getNotation(asSignalSequence, out);
+    }
+
+    /**
+     * @see MorseCode#getAudioInputStream(int, int)
+     */
+    public AudioInputStream getAudioInputStream(int wordsPerMinute, int beepFrequency) {
+        return unpack().getAudioInputStream(wordsPerMinute, beepFrequency);
+    }
+
+    /**
+     * @see MorseCode#writeTiming(WritableByteChannel)
+     */
+    public long writeTiming(WritableByteChannel channel) throws IOException {
+        return unpack().writeTiming(channel);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof PackedMorseCode other && alphabet == other.alphabet && length == other.length &&
+               Arrays.equals(codes, other.codes);
+    }
+
+    @Override
+    public int hashCode() { return 31 * (31 * alphabet.hashCode() + length) + Arrays.hashCode(codes); }
+
+    @Override
+    public String toString() { return new View().toString(); }
+
+    private static int pack(MorseNotation mn) {
+        if (!MorseNotation.isWhiteSpace(mn)) return mn.code();
+        int i = 0;
+        while (WHITE_SPACES[i] != mn) i++;
+        return WHITE_SPACE_CODE + i;
+    }
+
+    private MorseNotation unpack(int code) {
+        return code >= WHITE_SPACE_CODE ? WHITE_SPACES[code - WHITE_SPACE_CODE] : alphabet.fromCode(code);
+    }
+
+    private void put(int index, int code) {
+        final long bit = (long) index * SYMBOL_BITS;
+        final int word = (int) (bit >>> 6);
+        final int shift = (int) (bit & 63);
+        codes[word] |= (long) code << shift;
+        // the code continues in the next word
+        if (shift + SYMBOL_BITS > Long.SIZE) {
+            codes[word + 1] |= (long) code >>> (Long.SIZE - shift);
+        }
+    }
+
+    private int get(int index) {
+        final long bit = (long) index * SYMBOL_BITS;
+        final int word = (int) (bit >>> 6);
+        final int shift = (int) (bit & 63);
+        long code = codes[word] >>> shift;
+        if (shift + SYMBOL_BITS > Long.SIZE) {
+            code |= codes[word + 1] << (Long.SIZE - shift);
+        }
+        return (int) (code & SYMBOL_MASK);
+    }
+
+    /**
+     * Read only list view of the packed codes, so {@code MorseCode} can work on them directly.
+     */
+    private final class View extends AbstractList<MorseNotation> implements RandomAccess {
+        @Override
+        public MorseNotation get(int index) {
+            if (index < 0 || index >= length) throw new IndexOutOfBoundsException(index);
+            return unpack(PackedMorseCode.this.get(index));
+        }
+
+        @Override
+        public int size() { return length; }
+    }
+}
@@ -0,0 +1,275 @@
+package strings;
+
+import javax.sound.sampled.*;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Plays a stream of messages gaplessly on a single {@code SourceDataLine} that stays open for the lifetime of the
+ * queue. A synthesizer thread renders the queued messages into a bounded ring buffer and a writer thread feeds the
+ * line from it, so consecutive messages follow each other with exactly the configured gap and without the dead time
+ * of opening and draining a line per message. Messages queued while the line is idle start right away.
+ * <p>
+ * Both the message queue and the ring buffer are bounded: {@link #offer(MorseCode)} fails and {@link #put(MorseCode)}
+ * blocks while the queue is full.
+ */
+public final class PlaybackQueue implements AutoCloseable {
+
+    /**
+     * Snapshot of the state of a queue.
+     * @param queueDepth        messages waiting to be synthesized
+     * @param bufferedSamples   samples waiting in the ring buffer
+     * @param underruns         number of times the line had to wait for a message that was still being synthesized
+     * @param samplesWritten    samples written to the line so far
+     * @param samplesPerSecond  average rate of samples written to the line since the first sample
+     */
+    public record Metrics(int queueDepth, int bufferedSamples, long underruns, long samplesWritten,
+                          double samplesPerSecond) {}
+
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final int DEFAULT_WORD_GAPS = 1;
+    // the ring buffer holds half a second of audio, the line a quarter of a second
+    private static final int RING_SECONDS_DIVISOR = 2;
+    private static final int LINE_SECONDS_DIVISOR = 4;
+    // marks the end of the queue
+    private static final MorseCode END = new MorseCode(List.of());
+
+    private final BlockingQueue<MorseCode> messages;
+    private final SampleRingBuffer ring;
+    private final MorsePlayer.LineFactory lineFactory;
+    private final AudioFormat format;
+    private final TimingProfile profile;
+    private final int beepFrequency;
+    private final long gapSamples;
+    private final Thread synthesizer;
+    private final Thread writer;
+
+    // held shared while a message is queued and exclusively while END is queued, so nothing is queued after END
+    private final ReentrantReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private final AtomicLong underruns = new AtomicLong();
+    private final AtomicLong samplesWritten = new AtomicLong();
+    private volatile boolean isSynthesizing = false;
+    private volatile boolean isClosed = false;
+    private volatile long firstWriteNanos = 0;
+    private volatile SourceDataLine line;
+
+    /**
+     * Creates a queue on the default line of the sound system, with one word gap between messages.
+     * @param wordsPerMinute    determines signal playback speed. Clamped between 1 and 50.
+     * @param beepFrequency     frequency of the beeping sound in hertz. Clamped between 50 and 20000 Hz
+     */
+    public PlaybackQueue(int wordsPerMinute, int beepFrequency) {
+        this(MorseCode.getTimingProfile(wordsPerMinute), beepFrequency, DEFAULT_WORD_GAPS, DEFAULT_CAPACITY,
+             AudioSystem::getSourceDataLine);
+    }
+
+    /**
+     * @param profile           speed, weighting and sample rate of the signal
+     * @param beepFrequency     frequency of the beeping sound in hertz. Clamped between 50 and 20000 Hz
+     * @param wordGaps          number of word gaps of {@code profile} between consecutive messages
+     * @param capacity          maximum number of messages waiting in the queue
+     * @param lineFactory       provides the line, which is opened once with the first message
+     */
+    public PlaybackQueue(TimingProfile profile, int beepFrequency, int wordGaps, int capacity,
+                         MorsePlayer.LineFactory lineFactory) {
+        if (profile == null || wordGaps < 0 || capacity <= 0 || lineFactory == null) {
+            throw new IllegalArgumentException(
+                    "\u001B[31m'profile' and 'lineFactory' must not be null, 'wordGaps' must not be negative and " +
+                    "'capacity' must be positive\u001B[0m");
+        }
+        this.messages = new ArrayBlockingQueue<>(capacity);
+        this.lineFactory = lineFactory;
+        this.format = MorseCode.getAudioFormat(profile.sampleRate());
+        this.profile = profile;
+        this.beepFrequency = beepFrequency;
+        this.gapSamples = Math.round(wordGaps * profile.wordGapSeconds() * profile.sampleRate());
+        this.ring = new SampleRingBuffer((int) format.getFrameRate() / RING_SECONDS_DIVISOR * format.getFrameSize());
+
+        this.synthesizer = new Thread(this::synthesize, "morse-queue-synthesizer");
+        this.writer = new Thread(this::write, "morse-queue-writer");
+        synthesizer.setDaemon(true);
+        writer.setDaemon(true);
+        synthesizer.start();
+        writer.start();
+    }
+
+    /**
+     * Queues a message if there is room for it.
+     * @return false if the queue is full
+     * @throws IllegalStateException if the queue has been closed
+     */
+    public boolean offer(MorseCode morseCode) {
+        closeLock.readLock().lock();
+        try {
+            checkOpen(morseCode);
+            return messages.offer(morseCode);
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Queues a message, waiting up to {@code timeout} for room in the queue.
+     * @return false if the queue is still full after {@code timeout}
+     * @throws IllegalStateException if the queue has been closed
+     */
+    public boolean offer(MorseCode morseCode, long timeout, TimeUnit unit) throws InterruptedException {
+        closeLock.readLock().lockInterruptibly();
+        try {
+            checkOpen(morseCode);
+            return messages.offer(morseCode, timeout, unit);
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Queues a message, waiting for room in the queue as long as needed.
+     * @throws IllegalStateException if the queue has been closed
+     */
+    public void put(MorseCode morseCode) throws InterruptedException {
+        closeLock.readLock().lockInterruptibly();
+        try {
+            checkOpen(morseCode);
+            messages.put(morseCode);
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    public Metrics getMetrics() {
+        final long written = samplesWritten.get();
+        final long start = firstWriteNanos;
+        final double seconds = start == 0 ? 0 : (System.nanoTime() - start) / 1e9;
+        final int frameSize = format.getFrameSize();
+        return new Metrics(messages.size(), ring.size() / frameSize, underruns.get(), written,
+                           seconds > 0 ? written / seconds : 0);
+    }
+
+    /**
+     * Plays all queued messages to the end, then closes the line and stops the threads of the queue. Blocks until
+     * playback is finished. Messages queued by calls that are still waiting for room in the queue are played as
+     * well. If the calling thread is interrupted while waiting, playback is stopped right away, waiting messages are
+     * dropped and the interrupt flag of the thread is set again.
+     */
+    @Override
+    public void close() {
+        try {
+            closeLock.writeLock().lockInterruptibly();
+            try {
+                if (!isClosed) {
+                    isClosed = true;
+                    messages.put(END);
+                }
+            } finally {
+                closeLock.writeLock().unlock();
+            }
+            synthesizer.join();
+            writer.join();
+        } catch (InterruptedException e) {
+            isClosed = true;
+            synthesizer.interrupt();
+            writer.interrupt();
+            // nothing takes messages from the queue anymore, so calls waiting for room must not wait for it
+            messages.clear();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void checkOpen(MorseCode morseCode) {
+        if (morseCode == null) {
+            throw new IllegalArgumentException("\u001B[31m'morseCode' must not be null\u001B[0m");
+        }
+        if (isClosed) {
+            throw new IllegalStateException("\u001B[31mPlayback queue is closed\u001B[0m");
+        }
+    }
+
+    private void synthesize() {
+        final byte[] buffer = new byte[(int) format.getFrameRate() / LINE_SECONDS_DIVISOR * format.getFrameSize()];
+        boolean isFirst = true;
+        try {
+            MorseCode morseCode;
+            while ((morseCode = messages.take()) != END) {
+                isSynthesizing = true;
+                // only keep the rhythm if the previous message is still playing
+                if (!isFirst && isPlaying()) writeSilence(buffer, gapSamples * format.getFrameSize());
+                isFirst = false;
+
+                try (AudioInputStream ais = morseCode.getAudioInputStream(profile, beepFrequency)) {
+                    int read;
+                    while ((read = ais.read(buffer, 0, buffer.length)) != -1) {
+                        ring.write(buffer, 0, read);
+                    }
+                } catch (IOException e) {
+                    MorseCode.getListener().onWarning(e.getLocalizedMessage());
+                }
+                isSynthesizing = false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            isSynthesizing = false;
+            ring.close();
+        }
+    }
+
+    private void writeSilence(byte[] buffer, long length) throws InterruptedException {
+        Arrays.fill(buffer, (byte) 0);
+        while (length > 0) {
+            int count = (int) Math.min(buffer.length, length);
+            ring.write(buffer, 0, count);
+            length -= count;
+        }
+    }
+
+    private boolean isPlaying() {
+        SourceDataLine current = line;
+        return ring.size() > 0 || (current != null && current.getLongFramePosition() < samplesWritten.get());
+    }
+
+    private void write() {
+        final int frameSize = format.getFrameSize();
+        final byte[] buffer = new byte[(int) format.getFrameRate() / LINE_SECONDS_DIVISOR / 2 * frameSize];
+        SourceDataLine openLine = null;
+        try {
+            while (true) {
+                if (ring.size() == 0 && isSynthesizing) underruns.incrementAndGet();
+                int read = ring.read(buffer, 0, buffer.length);
+                if (read == -1) break;
+
+                if (openLine == null) openLine = openLine();
+                if (firstWriteNanos == 0) firstWriteNanos = System.nanoTime();
+                openLine.write(buffer, 0, read);
+                samplesWritten.addAndGet(read / frameSize);
+            }
+            if (openLine != null) openLine.drain();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (LineUnavailableException e) {
+            MorseCode.getListener().onWarning(e.getLocalizedMessage());
+            // keep the synthesizer from blocking on a full ring buffer
+            try {
+                while (ring.read(buffer, 0, buffer.length) != -1) {}
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        } finally {
+            if (openLine != null) openLine.close();
+        }
+    }
+
+    private SourceDataLine openLine() throws LineUnavailableException {
+        SourceDataLine newLine = lineFactory.getLine(format);
+        newLine.open(format, (int) format.getFrameRate() / LINE_SECONDS_DIVISOR * format.getFrameSize());
+        newLine.start();
+        line = newLine;
+        return newLine;
+    }
+}
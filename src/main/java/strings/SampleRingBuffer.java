@@ -0,0 +1,102 @@
+package strings;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded ring buffer of audio bytes between a single producer and a single consumer thread. Writers block while the
+ * buffer is full, which slows the producer down to the speed of playback. Readers block while it is empty.
+ */
+final class SampleRingBuffer {
+
+    private final byte[] buffer;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    // index of the next byte to read
+    private int head = 0;
+    private int size = 0;
+    private boolean isClosed = false;
+
+    /**
+     * @param capacity  maximum number of bytes held
+     */
+    SampleRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("\u001B[31m'capacity' must be positive\u001B[0m");
+        }
+        this.buffer = new byte[capacity];
+    }
+
+    /**
+     * Writes all {@code len} bytes, waiting for free space as often as needed.
+     * @throws IllegalStateException if the buffer has been closed
+     */
+    void write(byte[] b, int off, int len) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (len > 0) {
+                while (size == buffer.length && !isClosed) notFull.await();
+                if (isClosed) throw new IllegalStateException("\u001B[31mRing buffer is closed\u001B[0m");
+
+                int tail = (head + size) % buffer.length;
+                int count = Math.min(len, Math.min(buffer.length - size, buffer.length - tail));
+                System.arraycopy(b, off, buffer, tail, count);
+                size += count;
+                off += count;
+                len -= count;
+                notEmpty.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads up to {@code len} bytes, waiting until at least one byte is available.
+     * @return number of bytes read or -1 if the buffer is closed and empty
+     */
+    int read(byte[] b, int off, int len) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0 && !isClosed) notEmpty.await();
+            if (size == 0) return -1;
+
+            int count = Math.min(len, Math.min(size, buffer.length - head));
+            System.arraycopy(buffer, head, b, off, count);
+            head = (head + count) % buffer.length;
+            size -= count;
+            notFull.signal();
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of bytes that can be read right now.
+     */
+    int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Rejects further writes. Bytes already in the buffer can still be read.
+     */
+    void close() {
+        lock.lock();
+        try {
+            isClosed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package strings;
+
+import javax.sound.sampled.AudioFormat;
+import java.nio.ByteBuffer;
+
+/**
+ * Converts samples between -1 and 1 into the bytes of a signed linear PCM mono format. There is one writer per sample
+ * size and byte order, chosen once per stream, so the conversion loops contain no branches per sample.
+ */
+enum SampleWriter {
+
+    PCM_8_BIT(1) {
+        @Override
+        void write(double[] src, int count, ByteBuffer dst) {
+            for (int i = 0; i < count; i++) {
+                dst.put((byte) (src[i] * Byte.MAX_VALUE));
+            }
+        }
+    },
+    PCM_16_BIT_BIG_ENDIAN(2) {
+        @Override
+        void write(double[] src, int count, ByteBuffer dst) {
+            for (int i = 0; i < count; i++) {
+                int sample = (int) (src[i] * Short.MAX_VALUE);
+                dst.put((byte) (sample >> 8));
+                dst.put((byte) sample);
+            }
+        }
+    },
+    PCM_16_BIT_LITTLE_ENDIAN(2) {
+        @Override
+        void write(double[] src, int count, ByteBuffer dst) {
+            for (int i = 0; i < count; i++) {
+                int sample = (int) (src[i] * Short.MAX_VALUE);
+                dst.put((byte) sample);
+                dst.put((byte) (sample >> 8));
+            }
+        }
+    };
+
+    static final float MIN_SAMPLE_RATE = 8000;
+    static final float MAX_SAMPLE_RATE = 48000;
+
+    private static final byte[] ZEROS = new byte[1024];
+
+    final int frameSize;
+
+    SampleWriter(int frameSize) { this.frameSize = frameSize; }
+
+    /**
+     * Returns the writer of {@code format}.
+     * @throws IllegalArgumentException if {@code format} is not signed 8-bit or 16-bit mono PCM between
+     *                                  {@value #MIN_SAMPLE_RATE} and {@value #MAX_SAMPLE_RATE} Hz
+     */
+    static SampleWriter of(AudioFormat format) {
+        if (format == null) {
+            throw new IllegalArgumentException("\u001B[31m'format' must not be null\u001B[0m");
+        }
+        final int bits = format.getSampleSizeInBits();
+        final float rate = format.getSampleRate();
+        if (!format.getEncoding().equals(AudioFormat.Encoding.PCM_SIGNED) || format.getChannels() != 1 ||
+            (bits != 8 && bits != 16) || !(rate >= MIN_SAMPLE_RATE && rate <= MAX_SAMPLE_RATE) ||
+            format.getFrameRate() != rate) {
+            throw new IllegalArgumentException(STR."\u001B[31mUnsupported audio format: \{format}\u001B[0m");
+        }
+        if (bits == 8) return PCM_8_BIT;
+        return format.isBigEndian() ? PCM_16_BIT_BIG_ENDIAN : PCM_16_BIT_LITTLE_ENDIAN;
+    }
+
+    /**
+     * Writes the first {@code count} samples of {@code src} at the position of {@code dst}.
+     */
+    abstract void write(double[] src, int count, ByteBuffer dst);
+
+    /**
+     * Writes {@code count} samples of silence at the position of {@code dst}.
+     */
+    void silence(ByteBuffer dst, int count) {
+        int length = count * frameSize;
+        while (length > 0) {
+            int chunk = Math.min(length, ZEROS.length);
+            dst.put(ZEROS, 0, chunk);
+            length -= chunk;
+        }
+    }
+}
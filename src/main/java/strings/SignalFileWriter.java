@@ -0,0 +1,126 @@
+package strings;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes an {@code AudioInputStream} as WAVE or AU file straight to a {@code FileChannel}. The header is written up
+ * front and the samples are streamed through a single reusable buffer, so heap use does not depend on the length of
+ * the audio. If the length of the stream is unknown, the header is patched once all samples have been written.
+ * <p>
+ * Supports 8-bit and 16-bit linear PCM. Other formats and file types are handed over to
+ * {@link AudioSystem#write(AudioInputStream, AudioFileFormat.Type, java.io.File)}.
+ */
+final class SignalFileWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int WAVE_HEADER_SIZE = 44;
+    private static final int AU_HEADER_SIZE = 24;
+    private static final int AU_MAGIC = 0x2e736e64;
+    private static final int AU_ENCODING_PCM_8 = 2;
+    private static final int AU_ENCODING_PCM_16 = 3;
+    private static final short WAVE_FORMAT_PCM = 1;
+    private static final byte[] RIFF_ID = "RIFF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] WAVE_ID = "WAVE".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FORMAT_ID = "fmt ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DATA_ID = "data".getBytes(StandardCharsets.US_ASCII);
+
+    private SignalFileWriter() {}
+
+    /**
+     * Writes {@code ais} to {@code path}. An existing file is overwritten.
+     * @return number of bytes written
+     */
+    static long write(AudioInputStream ais, AudioFileFormat.Type fileFormat, Path path) throws IOException {
+        final AudioFormat format = ais.getFormat();
+        final boolean isWave = fileFormat.equals(AudioFileFormat.Type.WAVE);
+        final boolean isAu = fileFormat.equals(AudioFileFormat.Type.AU);
+
+        if (!(isWave || isAu) || !isSupported(format)) {
+            return AudioSystem.write(ais, fileFormat, path.toFile());
+        }
+
+        final int headerSize = isWave ? WAVE_HEADER_SIZE : AU_HEADER_SIZE;
+        final long frameLength = ais.getFrameLength();
+        final long dataSize = frameLength == AudioSystem.NOT_SPECIFIED ? 0 : frameLength * format.getFrameSize();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                          StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(isWave ? waveHeader(format, dataSize) : auHeader(format, dataSize));
+
+            // WAVE stores 8-bit samples unsigned and 16-bit samples little endian, AU signed and big endian
+            final boolean isSixteenBit = format.getSampleSizeInBits() == 16;
+            final boolean isSigned = format.getEncoding().equals(AudioFormat.Encoding.PCM_SIGNED);
+            final boolean flipSign = !isSixteenBit && (isWave == isSigned);
+            final boolean swapBytes = isSixteenBit && (isWave == format.isBigEndian());
+
+            final byte[] buffer = new byte[BUFFER_SIZE - BUFFER_SIZE % format.getFrameSize()];
+            final ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+            long written = 0;
+            int read;
+            while ((read = ais.read(buffer, 0, buffer.length)) != -1) {
+                if (flipSign) {
+                    for (int i = 0; i < read; i++) buffer[i] ^= (byte) 0x80;
+                }
+                if (swapBytes) {
+                    for (int i = 0; i + 1 < read; i += 2) {
+                        byte tmp = buffer[i];
+                        buffer[i] = buffer[i + 1];
+                        buffer[i + 1] = tmp;
+                    }
+                }
+                byteBuffer.clear().limit(read);
+                while (byteBuffer.hasRemaining()) channel.write(byteBuffer);
+                written += read;
+            }
+
+            if (written != dataSize) {
+                channel.write(isWave ? waveHeader(format, written) : auHeader(format, written), 0);
+            }
+            return headerSize + written;
+        }
+    }
+
+    private static boolean isSupported(AudioFormat format) {
+        boolean isPcm = format.getEncoding().equals(AudioFormat.Encoding.PCM_SIGNED) ||
+                        format.getEncoding().equals(AudioFormat.Encoding.PCM_UNSIGNED);
+        int bits = format.getSampleSizeInBits();
+        // unsigned 16-bit PCM exists in neither file format
+        boolean isSupportedSize = bits == 8 ||
+                                  (bits == 16 && format.getEncoding().equals(AudioFormat.Encoding.PCM_SIGNED));
+        return isPcm && isSupportedSize && format.getFrameSize() == format.getChannels() * bits / 8;
+    }
+
+    private static ByteBuffer waveHeader(AudioFormat format, long dataSize) {
+        final int channels = format.getChannels();
+        final int sampleRate = (int) format.getSampleRate();
+        final int frameSize = format.getFrameSize();
+        final int size = (int) Math.min(dataSize, Integer.MAX_VALUE - WAVE_HEADER_SIZE);
+
+        ByteBuffer header = ByteBuffer.allocate(WAVE_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(RIFF_ID).putInt(WAVE_HEADER_SIZE - 8 + size).put(WAVE_ID);
+        header.put(FORMAT_ID).putInt(16).putShort(WAVE_FORMAT_PCM).putShort((short) channels).putInt(sampleRate)
+              .putInt(sampleRate * frameSize).putShort((short) frameSize)
+              .putShort((short) format.getSampleSizeInBits());
+        header.put(DATA_ID).putInt(size);
+        return header.flip();
+    }
+
+    private static ByteBuffer auHeader(AudioFormat format, long dataSize) {
+        final int encoding = format.getSampleSizeInBits() == 16 ? AU_ENCODING_PCM_16 : AU_ENCODING_PCM_8;
+
+        ByteBuffer header = ByteBuffer.allocate(AU_HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+        header.putInt(AU_MAGIC).putInt(AU_HEADER_SIZE).putInt((int) Math.min(dataSize, Integer.MAX_VALUE))
+              .putInt(encoding).putInt((int) format.getSampleRate()).putInt(format.getChannels());
+        return header.flip();
+    }
+}
@@ -0,0 +1,185 @@
+package strings;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Objects;
+
+import strings.MorseCode.MorseNotation;
+
+/**
+ * Generates the PCM samples of a Morse code signal on demand while it is being read. Samples are written straight
+ * into the caller's buffer, so memory use does not depend on the length of the message and playback can start as soon
+ * as the first buffer is filled. Produces signed 8-bit or 16-bit mono samples in the byte order of the audio format.
+ * <p>
+ * The sample offset of every keying element is computed from the {@link TimingProfile}. Element boundaries are
+ * rounded from the exact elapsed time, so rounding errors do not add up over long messages.
+ * @see ToneGenerator
+ * @see SampleWriter
+ */
+final class SignalInputStream extends InputStream {
+
+    // samples rendered by the tone generator per call of the sample writer
+    private static final int CHUNK_SIZE = 1024;
+
+    private final KeyingSequence keying;
+    private final ToneGenerator tone;
+    private final SampleWriter writer;
+    private final TimingProfile profile;
+    private final long length;
+
+    private final double[] chunk = new double[CHUNK_SIZE];
+    // bytes of a frame that has been split up by read()
+    private final ByteBuffer pending;
+    private ByteBuffer wrapped = ByteBuffer.allocate(0);
+    private long position = 0;
+    private long elementLength = 0;
+    private long elementRemaining = 0;
+    private boolean isMark = false;
+    // exact end of the previous element in seconds
+    private double elapsedSeconds = 0;
+
+    /**
+     * @param literals      message to generate
+     * @param profile       timing of the signal. Its sample rate must match the one of {@code format}.
+     * @param format        signed 8-bit or 16-bit mono PCM
+     * @param frequency     frequency of the tone in hertz
+     */
+    SignalInputStream(List<MorseNotation> literals, TimingProfile profile, AudioFormat format, double frequency) {
+        this.keying = new KeyingSequence(literals);
+        this.profile = profile;
+        this.writer = SampleWriter.of(format);
+        long shortestMark = Math.round(profile.seconds(KeyingSequence.Element.DIT, false) * profile.sampleRate());
+        this.tone = new ToneGenerator(profile.sampleRate(), frequency, shortestMark);
+        this.length = countSamples(literals, profile);
+        this.pending = ByteBuffer.allocate(writer.frameSize).limit(0);
+    }
+
+    /**
+     * Returns the number of samples of the signal of {@code literals}.
+     */
+    static long countSamples(List<MorseNotation> literals, TimingProfile profile) {
+        KeyingSequence sequence = new KeyingSequence(literals);
+        double seconds = 0;
+        boolean followsMark = false;
+        while (sequence.hasNext()) {
+            KeyingSequence.Element element = sequence.next();
+            seconds += profile.seconds(element, followsMark);
+            followsMark = element.isMark;
+        }
+        return Math.round(seconds * profile.sampleRate());
+    }
+
+    /**
+     * Returns the total number of samples this stream generates.
+     */
+    long length() { return length; }
+
+    @Override
+    public int read() {
+        if (!pending.hasRemaining() && !fillPending()) return -1;
+        return pending.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0) return 0;
+        int copied = Math.min(len, pending.remaining());
+        pending.get(b, off, copied);
+        if (copied == len) return copied;
+
+        if (wrapped.array() != b) wrapped = ByteBuffer.wrap(b);
+        wrapped.limit(off + len).position(off + copied);
+        final int read = read(wrapped);
+        if (read == -1) return copied > 0 ? copied : -1;
+        copied += read;
+
+        // space left for less than a frame is filled with the first bytes of the next frame
+        if (copied < len && fillPending()) {
+            final int split = Math.min(len - copied, pending.remaining());
+            pending.get(b, off + copied, split);
+            copied += split;
+        }
+        return copied;
+    }
+
+    /**
+     * Renders the next frame into {@code pending}.
+     * @return false at the end of the signal
+     */
+    private boolean fillPending() {
+        pending.clear();
+        if (read(pending) == -1) {
+            pending.limit(0);
+            return false;
+        }
+        pending.flip();
+        return true;
+    }
+
+    /**
+     * Writes as many whole frames as fit into the remaining space of {@code dst}.
+     * @return number of bytes written, or -1 at the end of the signal
+     */
+    int read(ByteBuffer dst) {
+        if (position >= length) return -1;
+
+        final MorseListener listener = MorseCode.getListener();
+        final long startNanos = listener == MorseListener.NO_OP ? 0 : System.nanoTime();
+        final int start = dst.position();
+        long frames = Math.min(dst.remaining() / writer.frameSize, length - position);
+        while (frames > 0) {
+            if (elementRemaining == 0) nextElement();
+            int count = (int) Math.min(Math.min(frames, elementRemaining), CHUNK_SIZE);
+            if (isMark) {
+                tone.mark(chunk, 0, count, elementLength - elementRemaining, elementLength);
+                writer.write(chunk, count, dst);
+            } else {
+                writer.silence(dst, count);
+            }
+            frames -= count;
+            position += count;
+            elementRemaining -= count;
+        }
+        final int written = dst.position() - start;
+        if (listener != MorseListener.NO_OP) {
+            listener.onSynthesized(written / writer.frameSize);
+            listener.onCompleted(MorseListener.Operation.SYNTHESIZE, System.nanoTime() - startNanos);
+        }
+        return written;
+    }
+
+    @Override
+    public long skip(long n) {
+        if (n <= 0) return 0;
+        long skipped = Math.min(n, pending.remaining());
+        pending.position(pending.position() + (int) skipped);
+
+        long frames = (n - skipped) / writer.frameSize;
+        while (frames > 0 && position < length) {
+            if (elementRemaining == 0) nextElement();
+            long count = Math.min(frames, elementRemaining);
+            skipped += count * writer.frameSize;
+            frames -= count;
+            position += count;
+            elementRemaining -= count;
+        }
+        return skipped;
+    }
+
+    private void nextElement() {
+        KeyingSequence.Element element = keying.next();
+        // summed up the same way as in countSamples(), so the last element ends exactly at the length of the stream
+        elapsedSeconds += profile.seconds(element, isMark);
+        elementLength = Math.max(0, Math.min(length, Math.round(elapsedSeconds * profile.sampleRate())) - position);
+        elementRemaining = elementLength;
+        isMark = element.isMark;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, (length - position) * writer.frameSize + pending.remaining());
+    }
+}
@@ -0,0 +1,155 @@
+package strings;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+import strings.MorseCode.MorseNotation;
+
+/**
+ * Binary exchange format for the keying sequence of a message. After a four byte magic number, the stream holds the
+ * lengths of alternating off and on runs in dit units, each packed as an unsigned LEB128 varint. The first run is
+ * always an off run, so a message starting with a mark begins with a zero. Runs of the same kind are merged, so a
+ * letter is a handful of bytes instead of one UTF-16 char per dit unit as in the signal notation. Runs are at most
+ * {@value #MAX_RUN_UNITS} units long; longer gaps, e.g. of many blanks in a row, are split by empty mark runs.
+ * <p>
+ * Line separators are keyed as a word gap, so they decode to a white space.
+ */
+final class SignalTiming {
+
+    // "MKT1"
+    private static final int MAGIC = 0x4D4B5431;
+    private static final int BUFFER_SIZE = 8 * 1024;
+    // longest LEB128 encoding of a long
+    private static final int MAX_VARINT_BYTES = 10;
+    // bound of a single run, so a corrupt run length can not make decode run for ages
+    private static final int MAX_RUN_UNITS = 512;
+
+    private SignalTiming() {}
+
+    /**
+     * Writes the keying sequence of {@code literals} to {@code channel}. The channel is not closed.
+     * @return number of bytes written
+     */
+    static long write(List<MorseNotation> literals, WritableByteChannel channel) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        buffer.putInt(MAGIC);
+        long written = 0;
+
+        KeyingSequence keying = new KeyingSequence(literals);
+        boolean isMarkRun = false;
+        long run = 0;
+        while (keying.hasNext()) {
+            KeyingSequence.Element element = keying.next();
+            if (element.isMark != isMarkRun) {
+                written += putRun(buffer, channel, run);
+                isMarkRun = element.isMark;
+                run = 0;
+            }
+            run += element.units;
+        }
+        if (run > 0) written += putRun(buffer, channel, run);
+        return written + flush(buffer, channel);
+    }
+
+    /**
+     * Puts a run, split into runs of at most {@value #MAX_RUN_UNITS} units with empty runs of the other kind between
+     * them.
+     * @return number of bytes flushed to make room
+     */
+    private static long putRun(ByteBuffer buffer, WritableByteChannel channel, long run) throws IOException {
+        long written = 0;
+        while (run > MAX_RUN_UNITS) {
+            if (buffer.remaining() < 2 * MAX_VARINT_BYTES) written += flush(buffer, channel);
+            putVarint(buffer, MAX_RUN_UNITS);
+            putVarint(buffer, 0);
+            run -= MAX_RUN_UNITS;
+        }
+        if (buffer.remaining() < MAX_VARINT_BYTES) written += flush(buffer, channel);
+        putVarint(buffer, run);
+        return written;
+    }
+
+    /**
+     * Reads a keying sequence from {@code channel} until the end of the stream is reached and decodes it to clear
+     * text. The channel is not closed.
+     * @throws IOException if reading fails, the stream is not in the timing format or a run is longer than
+     *                     {@value #MAX_RUN_UNITS} units
+     */
+    static String decode(ReadableByteChannel channel) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        buffer.flip();
+        if (!fill(buffer, channel, Integer.BYTES) || buffer.getInt() != MAGIC) {
+            throw new IOException("\u001B[31mStream is not in the signal timing format\u001B[0m");
+        }
+
+        // replay the runs as signal notation through a decoder, one chunk at a time
+        final MorseDecoder decoder = new MorseDecoder(true);
+        final StringBuilder clearText = new StringBuilder();
+        final StringBuilder chunk = new StringBuilder(BUFFER_SIZE);
+        boolean isMarkRun = false;
+        while (fill(buffer, channel, 1)) {
+            long run = getVarint(buffer, channel);
+            if (Long.compareUnsigned(run, MAX_RUN_UNITS) > 0) {
+                throw new IOException(STR."\u001B[31mRun of \{Long.toUnsignedString(run)} units is too long\u001B[0m");
+            }
+            final char c = isMarkRun ? MorseNotation.SIGNAL_MARK : MorseNotation.SIGNAL_GAP;
+            for (long i = 0; i < run; i++) {
+                chunk.append(c);
+                if (chunk.length() == BUFFER_SIZE) {
+                    clearText.append(decoder.feed(chunk));
+                    chunk.setLength(0);
+                }
+            }
+            isMarkRun = !isMarkRun;
+        }
+        clearText.append(decoder.feed(chunk));
+        return clearText.append(decoder.finish()).toString();
+    }
+
+    private static void putVarint(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static long getVarint(ByteBuffer buffer, ReadableByteChannel channel) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            if (!fill(buffer, channel, 1)) break;
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IOException("\u001B[31mSignal timing stream ends inside of a run length\u001B[0m");
+    }
+
+    private static long flush(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        int written = buffer.remaining();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+        return written;
+    }
+
+    /**
+     * Makes sure at least {@code count} bytes are readable from {@code buffer}, which is kept in read mode.
+     * @return false if the end of the stream is reached first
+     */
+    private static boolean fill(ByteBuffer buffer, ReadableByteChannel channel, int count) throws IOException {
+        if (buffer.remaining() >= count) return true;
+        buffer.compact();
+        try {
+            while (buffer.position() < count) {
+                if (channel.read(buffer) == -1) return false;
+            }
+        } finally {
+            buffer.flip();
+        }
+        return true;
+    }
+}
@@ -1,6 +1,6 @@
 package strings;
 
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
 
 public final class StrSandbox {
 
@@ -8,8 +8,8 @@ public final class StrSandbox {
     private static final short MAX_COLUMNS = 450;
     private static final byte PATTERN_MAX_LENGTH = 4;
 
-    private static final char DEFAULT_GRID_SYMBOL = 'G';
-    private static final char DEFAULT_SEPARATOR_SYMBOL = 'S';
+    static final char DEFAULT_GRID_SYMBOL = 'G';
+    static final char DEFAULT_SEPARATOR_SYMBOL = 'S';
     private static final String DEFAULT_PATTERN = STR."\{DEFAULT_SEPARATOR_SYMBOL}\{DEFAULT_GRID_SYMBOL}";
     private static final char DEFAULT_GRID_CHAR = 'O';
     private static final char DEFAULT_SEPARATOR_CHAR = ' ';
@@ -41,49 +41,34 @@ public final class StrSandbox {
             return;
         }
 
-        if (pattern.isEmpty()) pattern = DEFAULT_PATTERN;
-
-        // sanitize pattern String by clamping it to defined max length and removing unwanted characters
-        String sanitizedPattern = pattern.substring(0, Math.min(pattern.length(), PATTERN_MAX_LENGTH));
-        sanitizedPattern = sanitizedPattern.replaceAll(STR."[^\{DEFAULT_GRID_SYMBOL}\{DEFAULT_SEPARATOR_SYMBOL}]", "");
-        if (sanitizedPattern.isEmpty()) {
+        if (sanitizePattern(pattern).isEmpty()) {
             System.out.println(STR."Pattern argument doesn't contain any valid characters. Only '\{DEFAULT_GRID_SYMBOL}'"
                     + STR." and '\{DEFAULT_SEPARATOR_SYMBOL}' allowed in pattern definition.");
             return;
         }
 
-        // build the String used for printing the actual grid in terminal based on sanitized pattern String
-        StringBuilder strBuilder = new StringBuilder();
-        for(char c : sanitizedPattern.toCharArray()) {
-            switch (c) {
-                case DEFAULT_SEPARATOR_SYMBOL:
-                    strBuilder.append(separator);
-                    break;
-                case DEFAULT_GRID_SYMBOL:
-                    strBuilder.append(gridChar);
-                    break;
-                default:
-                    System.out.println(STR."Invalid pattern char '\{c}' not allowed!");
-            }
+        // render the grid in large blocks instead of printing every cell on its own
+        GridRenderer renderer = new GridRenderer(gridChar, separator, pattern, useEvenOffset)
+                .withLimits(MAX_ROWS, MAX_COLUMNS);
+        try {
+            renderer.render(rows, columns, System.out);
+        } catch (IOException e) {
+            System.out.println(e.getLocalizedMessage());
         }
+        System.out.flush();
+    }
 
-        String gridStr = strBuilder.toString();
-        if (gridStr.isEmpty()) {
-            System.out.println("Couldn't build grid String. Check if pattern argument is valid!");
-            return;
-        }
-        String gridStrOffset = gridStr.substring(1) + gridStr.charAt(0);
+    /**
+     * Clamps a grid pattern to its max length and removes unwanted characters. An empty pattern is replaced by the
+     * default pattern '{@value DEFAULT_PATTERN}'.
+     * @param pattern   pattern of grid and separator symbols
+     * @return          sanitized pattern, empty if it doesn't contain any valid characters
+     */
+    static String sanitizePattern(String pattern) {
+        if (pattern.isEmpty()) pattern = DEFAULT_PATTERN;
 
-        // draw the grid using sout
-        final int rowsClamped = Math.min(Math.abs(rows), MAX_ROWS);
-        final int columnsClamped = Math.min(Math.abs(columns), MAX_COLUMNS);
-        final int cells = rowsClamped * columnsClamped;
-        for (int i = 0; i < cells; i++) {
-            boolean isEvenColumn = (i + columnsClamped) / columnsClamped % 2 == 0;
-            if (i % columnsClamped == 0) System.out.println();
-            System.out.print(isEvenColumn && useEvenOffset ? gridStrOffset : gridStr);
-        }
-        System.out.println();
+        String sanitizedPattern = pattern.substring(0, Math.min(pattern.length(), PATTERN_MAX_LENGTH));
+        return sanitizedPattern.replaceAll(STR."[^\{DEFAULT_GRID_SYMBOL}\{DEFAULT_SEPARATOR_SYMBOL}]", "");
     }
 
     private static final int INDEX_OF_A = "A".toCharArray()[0];
@@ -128,8 +113,9 @@ public final class StrSandbox {
      * Returns true if c is between 'A' and 'Z'.
      * @param c char to check against
      * @return  boolean
+     * @see CharClass
      */
-    public static boolean isUpperCaseLetter(char c) { return Character.toString(c).matches("[A-Z]"); }
+    public static boolean isUpperCaseLetter(char c) { return CharClass.is(c, CharClass.UPPER_CASE); }
 
     /**
      * Returns true if b is between 'a' and 'z'.
@@ -146,8 +132,9 @@ public final class StrSandbox {
      * Returns true if c is between 'a' and 'z'.
      * @param c byte to check
      * @return  boolean
+     * @see CharClass
      */
-    public static boolean isLowerCaseLetter(char c){ return Character.toString(c).matches("[a-z]"); }
+    public static boolean isLowerCaseLetter(char c){ return CharClass.is(c, CharClass.LOWER_CASE); }
 
     /**
      * Returns true if b is between either an upper- or lower case Latin letter.
@@ -160,58 +147,17 @@ public final class StrSandbox {
      * Returns true if c is between either an upper- or lower case Latin letter.
      * @param  c char to check against
      * @return   boolean
+     * @see CharClass
      */
-    public static boolean isLatinLetter(char c){ return Character.toString(c).matches("[A-Z]|[a-z]"); }
+    public static boolean isLatinLetter(char c){ return CharClass.is(c, CharClass.LETTER); }
 
     /**
      * Returns true if c is between '0' and '9'.
      * @param  c char to check against
      * @return   boolean
+     * @see CharClass
      */
-    public static boolean isDigit(char c){ return Character.toString(c).matches("[0-9]"); }
-
-    /**
-     * Recursive helper method for wrapAt().
-     * @param str   String to wrap
-     * @param sb    StringBuilder Object used to assemble the new String
-     * @param index length at which the method tries to wrap the String
-     * @see #wrapAt(String, int)
-     */
-    private static void wrapAtHelper(String str, StringBuilder sb, int index){
-        int i = Math.abs(index);
-
-        if(str == null || sb == null){
-            System.out.println("Str must not be null");
-            return;
-        }
-        if(i > str.length()){
-            sb.append(str);
-            return;
-        }
-        // parse str backwards starting at index position to check where the nearest white space is
-        while( i != 0) {
-            char currentChar = str.charAt(i);
-            boolean isWhiteSpace = Character.toString(currentChar).matches("\\s");
-            if(isWhiteSpace){
-                sb.append(STR."\{str.substring(0, i + 1)}\n");
-                break;
-            }
-            i--;
-        }
-        // try to append a whole word, if we were unable to find a white space
-        boolean noWhiteSpaceFound = i == 0 && !Character.toString(str.charAt(i)).matches("\\s");
-        if (noWhiteSpaceFound){
-            String word = str.split("\\s")[0];
-            sb.append(STR."\{word}\n");
-            i = word.length();
-            // exit if this seems to be the last piece of String available
-            if (i >= str.substring(i).length()){
-                return;
-            }
-        }
-        // call recursively until there is no string left
-        wrapAtHelper(str.substring(i + 1), sb, index);
-    }
+    public static boolean isDigit(char c){ return CharClass.is(c, CharClass.DIGIT); }
 
     /**
      * Wraps a String by inserting '\n' at the length given by the index parameter. If length specified is too short,
@@ -219,32 +165,37 @@ public final class StrSandbox {
      * @param str   String to wrap
      * @param index length at which the method tries to wrap the String
      * @return      Reformatted String
+     * @see WordWrapper
      */
     public static String wrapAt(String str, int index){
-        StringBuilder sb = new StringBuilder();
-        wrapAtHelper(str, sb, index);
-        return sb.toString();
+        if(str == null){
+            System.out.println("Str must not be null");
+            return "";
+        }
+        // Math.abs(Integer.MIN_VALUE) stays negative
+        final int width = index == Integer.MIN_VALUE ? Integer.MAX_VALUE : Math.abs(index);
+        try {
+            return new WordWrapper(width).wrap(str, new StringBuilder(str.length() + str.length() / 8)).toString();
+        } catch (IOException e) {
+            // StringBuilder does not throw
+            throw new AssertionError(e);
+        }
     }
 
     /**
-     * Takes a String and will encode it with a key using the Caesar cipher.
+     * Takes a String and will encode it with a key using the Caesar cipher. The message is converted to upper case
+     * first, characters other than Latin letters are kept unchanged.
      * @param message   Message that will be encoded
      * @param key       Key used to encode the message
      * @return          Encoded message as String
+     * @see CaesarCipher
      */
     public static String encodeCaesarCipher(String message, int key){
         if (message == null) {
             System.out.println("Message must not be null!");
             return "";
         }
-
-        StringBuilder sb = new StringBuilder();
-        for(byte b : message.toUpperCase().getBytes(StandardCharsets.UTF_8)){
-            int shiftedByteCode = INDEX_OF_A + Math.floorMod(b - INDEX_OF_A + key, ALPHABET_LEN);
-            int byteCode = isUpperCaseLetter(b) ? shiftedByteCode : b;
-            sb.append((char) byteCode);
-        }
-        return sb.toString();
+        return new CaesarCipher(key).apply(message.toUpperCase());
     }
 
     /**
@@ -266,42 +217,21 @@ public final class StrSandbox {
      * @param message           message to be encoded
      * @param includeLowerCase  encode lower case or treat every letter as upper case
      * @return                  Encoded String
+     * @see DecimalCodec
      */
     public static String encodeDecimal(String message, boolean includeLowerCase){
         if (message == null) {
             System.out.println("Message must not be null!");
             return "";
         }
-
-        StringBuilder sb = new StringBuilder();
-        final String msg = includeLowerCase ? message : message.toUpperCase();
-        final byte[] bmsg = msg.getBytes(StandardCharsets.UTF_8);
-        for(int i = 0; i < bmsg.length; i++){
-            String str = "";
-            final char currentChar = (char) bmsg[i];
-            // handle non letters/digits and exit iteration early
-            if(!(isLatinLetter(currentChar) || isDigit(currentChar))){
-                sb.append(Character.toString(currentChar));
-                continue;
-            }
-            // handle letters/digits
-            if (isLatinLetter(currentChar)){
-                int initialOffset = currentChar - INDEX_OF_A + 1;
-                int shiftedB = isUpperCaseLetter(currentChar) ? initialOffset : initialOffset - LOWERCASE_OFFSET + ALPHABET_LEN;
-                str = shiftedB < 10 ? STR."0\{shiftedB}" : Integer.toString(shiftedB);
-            } else if (isDigit(currentChar)) {
-                int initialOffset = currentChar - 48 + 1 + ALPHABET_LEN * 2;
-                str = STR."\{initialOffset}";
-            }
-            // check if next char exists and append separator if necessary
-            if (i < msg.length() - 1) {
-                char nextChar = msg.charAt(i + 1);
-                str = isLatinLetter(nextChar) || isDigit(nextChar) ? STR."\{str}\{ENC_DECIMAL_SEPARATOR}" : str;
-            }
-
-            sb.append(str);
+        try {
+            // two digits and a separator for most chars
+            return new DecimalCodec(includeLowerCase).encode(message, new StringBuilder(message.length() * 3))
+                                                     .toString();
+        } catch (IOException e) {
+            // StringBuilder does not throw
+            throw new AssertionError(e);
         }
-        return sb.toString();
     }
 
     /**
@@ -309,33 +239,19 @@ public final class StrSandbox {
      * @param encodedMessage    Encoded message to be decoded
      * @return      Decoded String
      * @see #encodeDecimal(String, boolean)
+     * @see DecimalCodec
      */
     public static String decodeDecimal(String encodedMessage){
-        StringBuilder sb = new StringBuilder();
-        String[] elements = encodedMessage.splitWithDelimiters("\\d{2}", -1);
-        for(String e : elements){
-            if(e.equals("-")){
-                continue;
-            }
-
-            boolean isDecimalPattern = e.matches("\\d{2}");
-            if (!isDecimalPattern){
-                sb.append(e);
-            }
-            else{
-                int decimal = Integer.parseInt(e);
-                int index = decimal;
-                if(decimal < 27){
-                    index = INDEX_OF_A + decimal - 1;
-                } else if (decimal < 53) {
-                    index = INDEX_OF_A + LOWERCASE_OFFSET + (decimal - ALPHABET_LEN - 1);
-                } else if (decimal < 63) {
-                    index = 48 + decimal - 1 - ALPHABET_LEN * 2;
-                }
-
-                sb.append((char) index);
-            }
+        if (encodedMessage == null) {
+            System.out.println("Encoded message must not be null!");
+            return "";
+        }
+        try {
+            return new DecimalCodec(true).decode(encodedMessage, new StringBuilder(encodedMessage.length() / 2))
+                                         .toString();
+        } catch (IOException e) {
+            // StringBuilder does not throw
+            throw new AssertionError(e);
         }
-        return sb.toString();
     }
 }
\ No newline at end of file
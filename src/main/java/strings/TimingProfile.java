@@ -0,0 +1,114 @@
+package strings;
+
+/**
+ * Timing of a synthesized Morse code signal.
+ * <ul>
+ *     <li>The character speed sets the length of a dit, {@code 1.2 / characterWpm} seconds (PARIS standard).</li>
+ *     <li>An effective speed below the character speed stretches the gaps between letters and words (Farnsworth
+ *     timing), so letters keep their sound at a lower overall speed.</li>
+ *     <li>The weight lengthens (above 50) or shortens (below 50) every mark and shortens or lengthens the gap after
+ *     it by the same amount, so the rhythm stays the same.</li>
+ *     <li>The ratio is the length of a dah in dits.</li>
+ * </ul>
+ * @param characterWpm  speed of the letters in words per minute
+ * @param effectiveWpm  overall speed in words per minute. Must not be above {@code characterWpm}.
+ * @param weight        mark to space weighting between 10 and 90. 50 is the standard weighting.
+ * @param ratio         dah to dit ratio between 2 and 5. 3 is the standard ratio.
+ * @param sampleRate    samples per second of the synthesized audio
+ */
+public record TimingProfile(int characterWpm, int effectiveWpm, double weight, double ratio, float sampleRate) {
+
+    public static final float DEFAULT_SAMPLE_RATE = 16 * 1024;
+    static final double STANDARD_WEIGHT = 50;
+    static final double STANDARD_RATIO = 3;
+
+    private static final double PARIS_DIT_SECONDS = 1.2;
+    // Farnsworth timing as described by the ARRL: a word at the effective speed takes 60 / effectiveWpm seconds, of
+    // which 31 dit units of the PARIS word are letters and 19 units are the gaps that get stretched
+    private static final double FARNSWORTH_CHARACTER_SECONDS = 37.2;
+    private static final int FARNSWORTH_GAP_UNITS = 19;
+
+    public TimingProfile {
+        if (characterWpm <= 0 || effectiveWpm <= 0 || effectiveWpm > characterWpm) {
+            throw new IllegalArgumentException(
+                    "\u001B[31m'characterWpm' and 'effectiveWpm' must be positive, 'effectiveWpm' must not be above " +
+                    "'characterWpm'\u001B[0m");
+        }
+        if (!(weight >= 10 && weight <= 90) || !(ratio >= 2 && ratio <= 5) || !(sampleRate > 0)) {
+            throw new IllegalArgumentException(
+                    "\u001B[31m'weight' must be between 10 and 90, 'ratio' between 2 and 5 and 'sampleRate' must be " +
+                    "positive\u001B[0m");
+        }
+    }
+
+    /**
+     * Returns the standard timing at the given speed.
+     * @param wordsPerMinute    speed of letters and gaps
+     */
+    public static TimingProfile of(int wordsPerMinute) {
+        return new TimingProfile(wordsPerMinute, wordsPerMinute, STANDARD_WEIGHT, STANDARD_RATIO, DEFAULT_SAMPLE_RATE);
+    }
+
+    /**
+     * Returns a Farnsworth timing: letters at {@code characterWpm}, stretched gaps for an overall
+     * {@code effectiveWpm}.
+     */
+    public static TimingProfile farnsworth(int characterWpm, int effectiveWpm) {
+        return new TimingProfile(characterWpm, effectiveWpm, STANDARD_WEIGHT, STANDARD_RATIO, DEFAULT_SAMPLE_RATE);
+    }
+
+    public TimingProfile withWeight(double weight) {
+        return new TimingProfile(characterWpm, effectiveWpm, weight, ratio, sampleRate);
+    }
+
+    public TimingProfile withRatio(double ratio) {
+        return new TimingProfile(characterWpm, effectiveWpm, weight, ratio, sampleRate);
+    }
+
+    public TimingProfile withSampleRate(float sampleRate) {
+        return new TimingProfile(characterWpm, effectiveWpm, weight, ratio, sampleRate);
+    }
+
+    /**
+     * Returns the length of an unweighted dit and of the gap between the marks of a letter in seconds.
+     */
+    public double ditSeconds() { return PARIS_DIT_SECONDS / characterWpm; }
+
+    /**
+     * Returns the length of an unweighted dah in seconds.
+     */
+    public double dahSeconds() { return ratio * ditSeconds(); }
+
+    /**
+     * Returns the length of the unweighted gap between letters in seconds.
+     */
+    public double letterGapSeconds() { return 3 * farnsworthUnitSeconds(); }
+
+    /**
+     * Returns the length of the unweighted gap between words in seconds.
+     */
+    public double wordGapSeconds() { return 7 * farnsworthUnitSeconds(); }
+
+    /**
+     * Returns the length of a keying element in seconds, including the weighting.
+     * @param element       keying element
+     * @param followsMark   true if the element is a gap right after a mark
+     */
+    double seconds(KeyingSequence.Element element, boolean followsMark) {
+        final double extra = (weight / STANDARD_WEIGHT - 1) * ditSeconds();
+        return switch (element) {
+            case DIT -> ditSeconds() + extra;
+            case DAH -> dahSeconds() + extra;
+            case SYMBOL_GAP -> ditSeconds() - (followsMark ? extra : 0);
+            case LETTER_GAP -> letterGapSeconds() - (followsMark ? extra : 0);
+            case WORD_GAP -> wordGapSeconds() - (followsMark ? extra : 0);
+        };
+    }
+
+    private double farnsworthUnitSeconds() {
+        if (effectiveWpm == characterWpm) return ditSeconds();
+        double stretchedSeconds = (60.0 * characterWpm - FARNSWORTH_CHARACTER_SECONDS * effectiveWpm) /
+                                  ((double) effectiveWpm * characterWpm);
+        return stretchedSeconds / FARNSWORTH_GAP_UNITS;
+    }
+}
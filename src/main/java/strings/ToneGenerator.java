@@ -0,0 +1,79 @@
+package strings;
+
+/**
+ * Renders the tone of a Morse code signal. The sine wave comes from a recurrence oscillator (a rotating phasor), so
+ * no {@code Math.sin} call is needed per sample and the phase carries on seamlessly from one mark to the next. Every
+ * mark is faded in and out with a precomputed raised cosine ramp to avoid clicks at its edges. Samples are rendered
+ * between -1 and 1 and turned into bytes by a {@link SampleWriter}.
+ */
+final class ToneGenerator {
+
+    private static final double RAMP_LENGTH_MS = 5.0;
+
+    private final double stepSin;
+    private final double stepCos;
+    private final double[] ramp;
+
+    // oscillator state
+    private double sin = 0.0;
+    private double cos = 1.0;
+
+    /**
+     * @param sampleRate        samples per second
+     * @param frequency         frequency of the tone in hertz
+     * @param shortestMark      length of the shortest mark in samples. Ramps are limited to half of it.
+     */
+    ToneGenerator(float sampleRate, double frequency, long shortestMark) {
+        double step = 2.0 * Math.PI * frequency / sampleRate;
+        this.stepSin = Math.sin(step);
+        this.stepCos = Math.cos(step);
+
+        int rampLength = (int) Math.min(RAMP_LENGTH_MS * sampleRate / 1000, shortestMark / 2);
+        this.ramp = new double[Math.max(0, rampLength)];
+        for (int i = 0; i < ramp.length; i++) {
+            ramp[i] = 0.5 * (1.0 - Math.cos(Math.PI * (i + 0.5) / ramp.length));
+        }
+    }
+
+    /**
+     * Writes {@code count} samples of a mark.
+     * @param dst           destination buffer
+     * @param off           offset in {@code dst}
+     * @param count         number of samples to write
+     * @param markOffset    position of the first sample inside the mark
+     * @param markLength    length of the whole mark in samples
+     */
+    void mark(double[] dst, int off, int count, long markOffset, long markLength) {
+        final int end = off + count;
+        final long fadeOut = markLength - ramp.length;
+        int i = off;
+
+        // fade in
+        while (i < end && markOffset < ramp.length) {
+            dst[i++] = nextSample() * ramp[(int) markOffset++];
+        }
+        // sustain
+        int sustainEnd = (int) Math.min(end, i + Math.max(0, fadeOut - markOffset));
+        while (i < sustainEnd) {
+            dst[i++] = nextSample();
+            markOffset++;
+        }
+        // fade out
+        while (i < end) {
+            dst[i++] = nextSample() * ramp[(int) (markLength - 1 - markOffset++)];
+        }
+
+        // keep the amplitude of the phasor from drifting
+        double norm = 1.0 / Math.sqrt(sin * sin + cos * cos);
+        sin *= norm;
+        cos *= norm;
+    }
+
+    private double nextSample() {
+        double sample = sin;
+        double nextSin = sin * stepCos + cos * stepSin;
+        cos = cos * stepCos - sin * stepSin;
+        sin = nextSin;
+        return sample;
+    }
+}
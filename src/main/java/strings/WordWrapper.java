@@ -0,0 +1,140 @@
+package strings;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Streaming counterpart to {@link StrSandbox#wrapAt(String, int)}. Text is read from a {@code CharSequence} or
+ * {@code Reader} in a single pass and written straight to an {@code Appendable}, so the wrapper only ever holds the
+ * current line in memory. Runtime is linear in the length of the text and the stack depth is constant.
+ * <p>
+ * A line is broken at the last white space within the first {@code width + 1} chars, which stays at the end of the
+ * line. A white space at the start of a line is dropped if there is no other break opportunity in the line. A word
+ * longer than the line is written as a whole, followed by a line break.
+ */
+public final class WordWrapper {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final int width;
+    private final boolean isUnicodeAware;
+
+    // current line, kept across buffer boundaries
+    private final StringBuilder line = new StringBuilder();
+    private int lastBreak = -1;
+    private boolean isInLongWord = false;
+
+    /**
+     * Creates a wrapper that breaks lines at ASCII white space, like the {@code \s} regex class.
+     * @param width length at which lines are wrapped
+     */
+    public WordWrapper(int width) { this(width, false); }
+
+    /**
+     * Creates a wrapper.
+     * @param width             length at which lines are wrapped
+     * @param isUnicodeAware    if true, lines are also broken at Unicode white space like the ideographic space,
+     *                          but never at no-break spaces
+     */
+    public WordWrapper(int width, boolean isUnicodeAware) {
+        if (width < 0) {
+            throw new IllegalArgumentException("\u001B[31m'width' must not be negative\u001B[0m");
+        }
+        this.width = width;
+        this.isUnicodeAware = isUnicodeAware;
+    }
+
+    /**
+     * Wraps a whole text and writes it to {@code out}.
+     * @param text  text to wrap
+     * @param out   destination of the wrapped text
+     * @return      {@code out}
+     * @throws IOException if {@code out} can not be written to
+     */
+    public <A extends Appendable> A wrap(CharSequence text, A out) throws IOException {
+        if (text == null || out == null) {
+            throw new IllegalArgumentException("\u001B[31m'text' and 'out' must not be null\u001B[0m");
+        }
+        reset();
+        for (int i = 0; i < text.length(); i++) {
+            accept(text.charAt(i), out);
+        }
+        finish(out);
+        return out;
+    }
+
+    /**
+     * Reads the text from {@code in} until the end of the stream is reached and writes it wrapped to {@code out}.
+     * The reader is not closed.
+     * @param in    source of the text
+     * @param out   destination of the wrapped text
+     * @return      {@code out}
+     * @throws IOException if reading from {@code in} or writing to {@code out} fails
+     */
+    public <A extends Appendable> A wrap(Reader in, A out) throws IOException {
+        if (in == null || out == null) {
+            throw new IllegalArgumentException("\u001B[31m'in' and 'out' must not be null\u001B[0m");
+        }
+        reset();
+        final char[] buffer = new char[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer, 0, buffer.length)) != -1) {
+            for (int i = 0; i < read; i++) {
+                accept(buffer[i], out);
+            }
+        }
+        finish(out);
+        return out;
+    }
+
+    private void reset() {
+        line.setLength(0);
+        lastBreak = -1;
+        isInLongWord = false;
+    }
+
+    private void accept(char c, Appendable out) throws IOException {
+        // a word longer than the line is written as it comes, up to the next white space
+        if (isInLongWord) {
+            if (isBreak(c)) {
+                out.append('\n');
+                isInLongWord = false;
+            } else {
+                out.append(c);
+            }
+            return;
+        }
+
+        // a white space at the start of the line is not a break opportunity
+        if (isBreak(c) && !line.isEmpty()) lastBreak = line.length();
+        line.append(c);
+        if (line.length() <= width) return;
+
+        if (lastBreak > 0) {
+            out.append(line, 0, lastBreak + 1).append('\n');
+            // the rest of the line holds no break opportunity, it ended at the last one
+            line.delete(0, lastBreak + 1);
+            lastBreak = -1;
+        } else if (isBreak(line.charAt(0))) {
+            line.deleteCharAt(0);
+        } else {
+            out.append(line);
+            line.setLength(0);
+            isInLongWord = true;
+        }
+    }
+
+    private void finish(Appendable out) throws IOException {
+        if (isInLongWord) out.append('\n');
+        else out.append(line);
+        reset();
+    }
+
+    private boolean isBreak(char c) {
+        if (isUnicodeAware) return Character.isWhitespace(c);
+        return switch (c) {
+            case ' ', '\t', '\n', '\u000B', '\f', '\r' -> true;
+            default -> false;
+        };
+    }
+}
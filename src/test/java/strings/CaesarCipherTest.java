@@ -0,0 +1,105 @@
+package strings;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CaesarCipherTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "Hello World!, 3, KHOOR ZRUOG!",
+            "xyz XYZ, 3, ABC ABC",
+            "The quick brown fox 123, -1, SGD PTHBJ AQNVM ENW 123",
+            "abc, 52, ABC",
+            "abc, -27, ZAB"
+    })
+    void encodesLikeBefore(String message, int key, String expected) {
+        assertEquals(expected, StrSandbox.encodeCaesarCipher(message, key));
+        assertEquals(message.toUpperCase(), StrSandbox.decodeCaesarCipher(expected, key));
+    }
+
+    @Test
+    void keepsNonAsciiText() {
+        assertEquals("BÄS ÖM – ΑΒΓ", StrSandbox.encodeCaesarCipher("aär öl – αβγ", 1));
+
+        byte[] utf8 = "Grüße aus Köln, 東京!".getBytes(StandardCharsets.UTF_8);
+        new CaesarCipher(13).apply(utf8, 0, utf8.length);
+        assertEquals("Teüßr nhf Xöya, 東京!", new String(utf8, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void vectorsMatchScalarLoop() {
+        Random random = new Random(42);
+        for (int length = 0; length < 300; length += 7) {
+            char[] chars = new char[length];
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                // mostly ASCII, with some chars from the whole range
+                int range = random.nextInt(4) == 0 ? Character.MAX_VALUE + 1 : 128;
+                chars[i] = (char) random.nextInt(range);
+                bytes[i] = (byte) random.nextInt(256);
+            }
+            for (int key = -27; key <= 27; key += 9) {
+                CaesarCipher cipher = new CaesarCipher(key);
+                int shift = Math.floorMod(key, 26);
+                int from = Math.min(length, 3);
+
+                char[] expectedChars = chars.clone();
+                CaesarCipher.applyScalar(expectedChars, from, length, shift);
+                char[] actualChars = chars.clone();
+                cipher.apply(actualChars, from, length);
+                assertArrayEquals(expectedChars, actualChars);
+
+                byte[] expectedBytes = bytes.clone();
+                CaesarCipher.applyScalar(expectedBytes, from, length, shift);
+                byte[] actualBytes = bytes.clone();
+                cipher.apply(actualBytes, from, length);
+                assertArrayEquals(expectedBytes, actualBytes);
+
+                ByteBuffer direct = ByteBuffer.allocateDirect(length).put(bytes).position(from);
+                cipher.apply(direct);
+                assertEquals(from, direct.position());
+                byte[] directBytes = new byte[length];
+                direct.get(0, directBytes);
+                assertArrayEquals(expectedBytes, directBytes);
+            }
+        }
+    }
+
+    @Test
+    void appliesToBufferSlices() {
+        byte[] bytes = "..abc..".getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer slice = ByteBuffer.wrap(bytes).position(1).slice().limit(4);
+        new CaesarCipher(1).apply(slice.position(1));
+        assertEquals("..bcd..", new String(bytes, StandardCharsets.US_ASCII));
+        assertThrows(IllegalArgumentException.class, () -> new CaesarCipher(1).apply(slice.asReadOnlyBuffer()));
+        assertThrows(IndexOutOfBoundsException.class, () -> new CaesarCipher(1).apply(bytes, 5, 8));
+    }
+
+    @Test
+    void streamsFiles(@TempDir Path dir) throws IOException {
+        String text = "Zwölf Boxkämpfer jagen Viktor quer über den großen Sylter Deich.\n".repeat(5_000);
+        Path source = Files.writeString(dir.resolve("source.txt"), text);
+        Path encoded = dir.resolve("encoded.txt");
+        Path decoded = dir.resolve("decoded.txt");
+
+        CaesarCipher cipher = new CaesarCipher(7);
+        assertEquals(Files.size(source), cipher.apply(source, encoded));
+        assertEquals(cipher.apply(text), Files.readString(encoded));
+        cipher.inverse().apply(encoded, decoded);
+        assertEquals(text, Files.readString(decoded));
+        assertTrue(Arrays.equals(Files.readAllBytes(source), Files.readAllBytes(decoded)));
+    }
+}
@@ -0,0 +1,67 @@
+package strings;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CharClassTest {
+
+    @Test
+    void classifiesLikeRegex() {
+        // every char, against the patterns of the former StrSandbox classifiers
+        for (int i = Character.MIN_VALUE; i <= Character.MAX_VALUE; i++) {
+            final char c = (char) i;
+            final String s = Character.toString(c);
+            assertEquals(s.matches("[A-Z]"), StrSandbox.isUpperCaseLetter(c));
+            assertEquals(s.matches("[a-z]"), StrSandbox.isLowerCaseLetter(c));
+            assertEquals(s.matches("[A-Z]|[a-z]"), StrSandbox.isLatinLetter(c));
+            assertEquals(s.matches("[0-9]"), StrSandbox.isDigit(c));
+            assertEquals(s.matches("[A-Za-z0-9]"), CharClass.is(c, CharClass.LETTER_OR_DIGIT));
+        }
+        assertEquals(CharClass.UPPER_CASE, CharClass.of('Q'));
+        assertEquals(CharClass.LOWER_CASE, CharClass.of('q'));
+        assertEquals(CharClass.DIGIT, CharClass.of('7'));
+        assertEquals(CharClass.NONE, CharClass.of('Ä'));
+    }
+
+    @Test
+    void countsAndFindsRuns() {
+        String text = "R2-D2 and C-3PO, über 9000!";
+        assertEquals(5, CharClass.count(text, CharClass.UPPER_CASE));
+        assertEquals(6, CharClass.count(text, CharClass.LOWER_CASE));
+        assertEquals(7, CharClass.count(text, CharClass.DIGIT));
+        assertEquals(18, CharClass.count(text, CharClass.LETTER_OR_DIGIT));
+        assertEquals(2, CharClass.count(text.toCharArray(), 0, 5, CharClass.DIGIT));
+
+        // runs of letters and digits: "R2", "D2", "and", "C", "3PO", "ber", "9000"
+        StringBuilder runs = new StringBuilder();
+        int start = CharClass.indexOf(text, 0, CharClass.LETTER_OR_DIGIT);
+        while (start >= 0) {
+            int end = CharClass.runEnd(text, start, CharClass.LETTER_OR_DIGIT);
+            runs.append(text, start, end).append('|');
+            start = end < text.length() ? CharClass.indexOf(text, end, CharClass.LETTER_OR_DIGIT) : -1;
+        }
+        assertEquals("R2|D2|and|C|3PO|ber|9000|", runs.toString());
+
+        char[] chars = text.toCharArray();
+        assertEquals(22, CharClass.indexOf(chars, 18, chars.length, CharClass.DIGIT));
+        assertEquals(-1, CharClass.indexOf(chars, 0, 1, CharClass.DIGIT));
+        assertEquals(26, CharClass.runEnd(chars, 22, chars.length, CharClass.DIGIT));
+        assertEquals(text.length(), CharClass.runEnd(text, text.length(), CharClass.DIGIT));
+        assertThrows(IndexOutOfBoundsException.class, () -> CharClass.indexOf(text, -1, CharClass.DIGIT));
+        assertThrows(IllegalArgumentException.class, () -> CharClass.count((CharSequence) null, CharClass.DIGIT));
+    }
+
+    @Test
+    void classifiesWholeRanges() {
+        String text = "aZ5 ß";
+        byte[] expected = {CharClass.LOWER_CASE, CharClass.UPPER_CASE, CharClass.DIGIT, CharClass.NONE, CharClass.NONE};
+        assertArrayEquals(expected, CharClass.classify(text));
+
+        byte[] classes = new byte[3];
+        CharClass.classify(text.toCharArray(), 2, 5, classes);
+        assertArrayEquals(new byte[]{CharClass.DIGIT, CharClass.NONE, CharClass.NONE}, classes);
+        assertThrows(IndexOutOfBoundsException.class,
+                     () -> CharClass.classify(text.toCharArray(), 0, 5, new byte[4]));
+    }
+}
@@ -0,0 +1,65 @@
+package strings;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecimalCodecTest {
+
+    // outputs of the former split and regex based implementation
+    @ParameterizedTest
+    @CsvSource(ignoreLeadingAndTrailingWhitespace = false, value = {
+            "Hello World,true,08-31-38-38-41 23-41-44-38-30",
+            "Hello World,false,08-05-12-12-15 23-15-18-12-04",
+            "R2-D2!,true,18-55-04-55!",
+            "a1 b2,true,27-54 28-55",
+            "Zz09,true,26-52-53-62",
+            "x--y,true,50--51",
+            "'',true,''"
+    })
+    void encodesLikeBefore(String message, boolean includeLowerCase, String expected) {
+        assertEquals(expected, StrSandbox.encodeDecimal(message, includeLowerCase));
+    }
+
+    @ParameterizedTest
+    @CsvSource(ignoreLeadingAndTrailingWhitespace = false, value = {
+            "08-31-38-38-41 23-41-44-38-30,Hello World",
+            "-01-02-,AB",
+            "01--02,A--B",
+            "01 - 02,A - B",
+            "123,L3",
+            "7-01,7-A",
+            "00-99-63,@c?",
+            "'',''"
+    })
+    void decodesLikeBefore(String encoded, String expected) {
+        assertEquals(expected, StrSandbox.decodeDecimal(encoded));
+    }
+
+    @Test
+    void keepsNonAsciiText() {
+        assertEquals("02-01-50-27 ä 東京", StrSandbox.encodeDecimal("BAxa ä 東京", true));
+        // the upper case of 'ß' is "SS"
+        assertEquals("19-19 Ä", StrSandbox.encodeDecimal("ß ä", false));
+        String message = "Grüße aus Köln, 1984!";
+        assertEquals(message, StrSandbox.decodeDecimal(StrSandbox.encodeDecimal(message, true)));
+    }
+
+    @Test
+    void streamsReaderLikeCharSequence() throws IOException {
+        // longer than a block, so codes and separators are split across block boundaries
+        String message = "The 7 quick brown foxes jump over 2 lazy dogs - 100% of the time!\n".repeat(1_000);
+        DecimalCodec codec = new DecimalCodec(true);
+        String encoded = codec.encode(message, new StringBuilder()).toString();
+        assertEquals(encoded, codec.encode(new StringReader(message), new StringWriter()).toString());
+        assertEquals(message, codec.decode(new StringReader(encoded), new StringWriter()).toString());
+        assertEquals(message, codec.decode(encoded, new StringBuilder()).toString());
+        assertThrows(IllegalArgumentException.class, () -> codec.encode((CharSequence) null, new StringBuilder()));
+    }
+}
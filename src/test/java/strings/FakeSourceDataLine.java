@@ -0,0 +1,120 @@
+package strings;
+
+import javax.sound.sampled.*;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code SourceDataLine} that records the written audio instead of playing it. Writes never block unless a gate is
+ * set, in which case every write takes a permit of the gate.
+ */
+class FakeSourceDataLine implements SourceDataLine {
+
+    final ByteArrayOutputStream written = new ByteArrayOutputStream();
+    final AtomicInteger openCount = new AtomicInteger();
+    final AtomicInteger flushCount = new AtomicInteger();
+    volatile Semaphore gate;
+    // frames reported as played, -1 to report every written frame as played
+    volatile long framesPlayed = -1;
+
+    private AudioFormat format;
+    private int bufferSize;
+    private volatile boolean isOpen = false;
+    private volatile boolean isRunning = false;
+
+    @Override
+    public void open(AudioFormat format, int bufferSize) {
+        this.format = format;
+        this.bufferSize = bufferSize;
+        openCount.incrementAndGet();
+        isOpen = true;
+    }
+
+    @Override
+    public void open(AudioFormat format) { open(format, (int) format.getFrameRate() * format.getFrameSize()); }
+
+    @Override
+    public int write(byte[] b, int off, int len) {
+        Semaphore semaphore = gate;
+        if (semaphore != null) semaphore.acquireUninterruptibly();
+        synchronized (written) {
+            written.write(b, off, len);
+        }
+        return len;
+    }
+
+    int writtenSize() {
+        synchronized (written) {
+            return written.size();
+        }
+    }
+
+    @Override
+    public void drain() {}
+
+    @Override
+    public void flush() { flushCount.incrementAndGet(); }
+
+    @Override
+    public void start() { isRunning = true; }
+
+    @Override
+    public void stop() { isRunning = false; }
+
+    @Override
+    public boolean isRunning() { return isRunning; }
+
+    @Override
+    public boolean isActive() { return isRunning; }
+
+    @Override
+    public AudioFormat getFormat() { return format; }
+
+    @Override
+    public int getBufferSize() { return bufferSize; }
+
+    @Override
+    public int available() { return bufferSize; }
+
+    @Override
+    public int getFramePosition() { return (int) getLongFramePosition(); }
+
+    @Override
+    public long getLongFramePosition() {
+        return framesPlayed >= 0 ? framesPlayed : writtenSize() / format.getFrameSize();
+    }
+
+    @Override
+    public long getMicrosecondPosition() { return (long) (getLongFramePosition() * 1e6 / format.getFrameRate()); }
+
+    @Override
+    public float getLevel() { return AudioSystem.NOT_SPECIFIED; }
+
+    @Override
+    public Line.Info getLineInfo() { return new Line.Info(SourceDataLine.class); }
+
+    @Override
+    public void open() { isOpen = true; }
+
+    @Override
+    public void close() { isOpen = false; }
+
+    @Override
+    public boolean isOpen() { return isOpen; }
+
+    @Override
+    public Control[] getControls() { return new Control[0]; }
+
+    @Override
+    public boolean isControlSupported(Control.Type control) { return false; }
+
+    @Override
+    public Control getControl(Control.Type control) { throw new IllegalArgumentException(control.toString()); }
+
+    @Override
+    public void addLineListener(LineListener listener) {}
+
+    @Override
+    public void removeLineListener(LineListener listener) {}
+}
@@ -0,0 +1,154 @@
+package strings;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GridRendererTest {
+
+    private static final String NL = System.lineSeparator();
+
+    @ParameterizedTest
+    @CsvSource({
+            "3, 4, SG, false",
+            "3, 4, SG, true",
+            "5, 2, SSGX, true",
+            "1, 1, G, true",
+            "0, 7, SG, true",
+            "7, 0, SG, false",
+            "-4, -3, GSS, true",
+            "'', 3, SG, false"
+    })
+    void rendersLikeDrawGrid(String rows, int columns, String pattern, boolean useEvenOffset) throws IOException {
+        int r = rows.isEmpty() ? Integer.MIN_VALUE : Integer.parseInt(rows);
+        GridRenderer renderer = new GridRenderer('O', '.', pattern, useEvenOffset).withLimits(300, 450);
+        String expected = drawGrid(r, columns, 'O', '.', pattern, useEvenOffset);
+
+        assertEquals(expected, renderer.render(r, columns));
+        assertEquals(expected.length(), renderer.length(r, columns));
+        assertEquals(expected, renderer.render(r, columns, new StringWriter()).toString());
+        assertEquals(expected, renderer.render(r, columns, new Appender()).sb.toString());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        long written = renderer.render(r, columns, Channels.newChannel(bytes));
+        assertEquals(expected, bytes.toString(StandardCharsets.UTF_8));
+        assertEquals(bytes.size(), written);
+    }
+
+    @Test
+    void drawGridPrintsRenderedGrid() {
+        PrintStream stdout = System.out;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            System.setOut(new PrintStream(bytes, true, StandardCharsets.UTF_8));
+            StrSandbox.drawGrid(400, 3);
+        } finally {
+            System.setOut(stdout);
+        }
+        assertEquals(drawGrid(300, 3, 'O', ' ', "SG", false), bytes.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void rendersLargeGridsInBlocks() throws IOException {
+        GridRenderer renderer = new GridRenderer('█', '░', "SGG", true);
+        final int rows = 1_000;
+        final int columns = 4_000;
+        String grid = renderer.render(rows, columns);
+        assertEquals(renderer.length(rows, columns), grid.length());
+
+        String row = "░██".repeat(columns);
+        String offsetRow = "██░".repeat(columns);
+        assertTrue(grid.startsWith(STR."\{NL}\{row}\{NL}\{offsetRow}\{NL}\{row}"));
+        assertTrue(grid.endsWith(STR."\{offsetRow}\{NL}"));
+
+        CountingWriter writer = new CountingWriter();
+        renderer.render(rows, columns, writer);
+        assertEquals(grid.length(), writer.chars);
+        // every write is a whole block
+        assertTrue(writer.writes <= grid.length() / (64 * 1024) + 1);
+    }
+
+    @Test
+    void saturatesLengthOfHugeGrids() {
+        GridRenderer renderer = new GridRenderer('O', ' ', "SGS", false);
+        // 2^62 cells of three chars do not fit into a long
+        assertEquals(Long.MAX_VALUE, renderer.length(Integer.MAX_VALUE, Integer.MAX_VALUE));
+        assertTrue(renderer.length(Integer.MAX_VALUE, 1_000) > 0);
+        assertThrows(OutOfMemoryError.class, () -> renderer.render(Integer.MAX_VALUE, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new GridRenderer('O', ' ', null, false));
+        assertThrows(IllegalArgumentException.class, () -> new GridRenderer('O', ' ', "XYZ", false));
+        GridRenderer renderer = new GridRenderer('O', ' ', "", false);
+        assertEquals(STR."\{NL} O O\{NL}", renderer.render(1, 2));
+        assertThrows(IllegalArgumentException.class, () -> renderer.withLimits(-1, 10));
+        assertThrows(IllegalArgumentException.class, () -> renderer.render(1, 1, (Appendable) null));
+    }
+
+    /**
+     * The grid as drawGrid printed it cell by cell.
+     */
+    private static String drawGrid(int rows, int columns, char gridChar, char separator, String pattern,
+                                   boolean useEvenOffset) {
+        String cells = StrSandbox.sanitizePattern(pattern);
+        StringBuilder gridStr = new StringBuilder();
+        for (char c : cells.toCharArray()) gridStr.append(c == 'G' ? gridChar : separator);
+        String gridStrOffset = gridStr.substring(1) + gridStr.charAt(0);
+
+        StringBuilder sb = new StringBuilder();
+        final int rowsClamped = Math.max(0, Math.min(Math.abs(rows), 300));
+        final int columnsClamped = Math.min(Math.abs(columns), 450);
+        final int cellCount = rowsClamped * columnsClamped;
+        for (int i = 0; i < cellCount; i++) {
+            boolean isEvenColumn = (i + columnsClamped) / columnsClamped % 2 == 0;
+            if (i % columnsClamped == 0) sb.append(NL);
+            sb.append(isEvenColumn && useEvenOffset ? gridStrOffset : gridStr);
+        }
+        return sb.append(NL).toString();
+    }
+
+    /**
+     * Appendable that is neither a StringBuilder nor a Writer.
+     */
+    private static final class Appender implements Appendable {
+        final StringBuilder sb = new StringBuilder();
+
+        @Override
+        public Appendable append(CharSequence csq) { sb.append(csq); return this; }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) { sb.append(csq, start, end); return this; }
+
+        @Override
+        public Appendable append(char c) { sb.append(c); return this; }
+    }
+
+    private static final class CountingWriter extends Writer {
+        long chars = 0;
+        int writes = 0;
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            chars += len;
+            writes++;
+        }
+
+        @Override
+        public void flush() {}
+
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,164 @@
+package strings;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import strings.MorseCode.MorseNotation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MorseAlphabetTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "Hello World, LATIN",
+            "Drachen haben einen großen Rachen, LATIN",
+            "Привет мир, CYRILLIC",
+            "Γειά σου κόσμε, GREEK",
+            "イロハニホヘト, WABUN",
+            "いろはにほへと, WABUN",
+            "Привет мир and more, CYRILLIC",
+            "12345, LATIN"
+    })
+    void detectsScript(String message, MorseAlphabet expected) {
+        assertEquals(expected, MorseAlphabet.detect(message));
+        assertEquals(expected, new MorseCode(message).getAlphabet());
+    }
+
+    @Test
+    void detectsFromTheFirstLettersOnly() {
+        String message = "Б".repeat(2048) + "A".repeat(4096);
+        assertEquals(MorseAlphabet.CYRILLIC, MorseAlphabet.detect(message));
+        assertThrows(IllegalArgumentException.class, () -> MorseAlphabet.detect(null));
+    }
+
+    @Test
+    void choosesAlphabetOfLanguage() {
+        assertEquals(MorseAlphabet.GERMAN, MorseAlphabet.of(Locale.GERMANY));
+        assertEquals(MorseAlphabet.CYRILLIC, MorseAlphabet.of(Locale.of("ru")));
+        assertEquals(MorseAlphabet.GREEK, MorseAlphabet.of(Locale.of("el")));
+        assertEquals(MorseAlphabet.WABUN, MorseAlphabet.of(Locale.JAPANESE));
+        assertEquals(MorseAlphabet.LATIN, MorseAlphabet.of(Locale.FRENCH));
+        assertThrows(IllegalArgumentException.class, () -> MorseAlphabet.of(null));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "ПРИВЕТ МИР, CYRILLIC",
+            "ΓΕΙΑ ΣΟΥ ΚΟΣΜΕ, GREEK",
+            "イロハ ニホヘト, WABUN",
+            "SOS 123, LATIN",
+            "ЧАЩА 1, CYRILLIC"
+    })
+    void roundTrips(String message, MorseAlphabet alphabet) {
+        String notation = new MorseCode(message, alphabet).getNotation();
+        DecodeResult result = MorseCode.decode(notation, DecodePolicy.FAIL_FAST, alphabet);
+        assertEquals(message, result.text());
+        assertTrue(result.isValid());
+    }
+
+    @Test
+    void lettersOfOtherScriptsShareTheirCodes() {
+        // 'А', 'Α' and 'イ' all are '·–'
+        String notation = new MorseCode("A").getNotation();
+        assertEquals(notation, new MorseCode("А", MorseAlphabet.CYRILLIC).getNotation());
+        assertEquals(notation, new MorseCode("Α", MorseAlphabet.GREEK).getNotation());
+        assertEquals(notation, new MorseCode("イ", MorseAlphabet.WABUN).getNotation());
+        assertEquals("А", MorseCode.decode(notation, DecodePolicy.SKIP, MorseAlphabet.CYRILLIC).text());
+        assertEquals("Α", MorseCode.decode(notation, DecodePolicy.SKIP, MorseAlphabet.GREEK).text());
+    }
+
+    @Test
+    void resolvesLowerCaseAndDiacritics() {
+        assertEquals(new MorseCode("ЕЛКА", MorseAlphabet.CYRILLIC).getNotation(),
+                     new MorseCode("ёлка", MorseAlphabet.CYRILLIC).getNotation());
+        assertEquals(new MorseCode("ΣΟΦΙΑ", MorseAlphabet.GREEK).getNotation(),
+                     new MorseCode("σοφία", MorseAlphabet.GREEK).getNotation());
+        assertEquals(new MorseCode("Σ", MorseAlphabet.GREEK).getNotation(),
+                     new MorseCode("ς", MorseAlphabet.GREEK).getNotation());
+    }
+
+    @Test
+    void keysVoicedKanaWithTheirMark() {
+        assertEquals(new MorseCode("カ゛", MorseAlphabet.WABUN).getNotation(),
+                     new MorseCode("ガ", MorseAlphabet.WABUN).getNotation());
+        assertEquals(new MorseCode("ハ゜", MorseAlphabet.WABUN).getNotation(),
+                     new MorseCode("パ", MorseAlphabet.WABUN).getNotation());
+        assertEquals(new MorseCode("カ゛", MorseAlphabet.WABUN).getNotation(),
+                     new MorseCode("が", MorseAlphabet.WABUN).getNotation());
+        assertEquals(new MorseCode("ツ", MorseAlphabet.WABUN).getNotation(),
+                     new MorseCode("っ", MorseAlphabet.WABUN).getNotation());
+
+        String notation = new MorseCode("ガ", MorseAlphabet.WABUN).getNotation();
+        assertEquals("カ゛", MorseCode.decode(notation, DecodePolicy.SKIP, MorseAlphabet.WABUN).text());
+    }
+
+    @Test
+    void lettersTakePrecedenceOverPunctuation() {
+        // '、' and '.' share a code in Wabun, '.' is still keyed with it
+        assertEquals(MorseNotation.WA_TOUTEN, MorseAlphabet.WABUN.fromCode(MorseNotation.AAA.code()));
+        assertEquals(MorseNotation.AAA, MorseAlphabet.WABUN.fromLiteral('.'));
+        assertEquals(MorseNotation.AAA, MorseAlphabet.LATIN.fromLiteral('.'));
+        assertEquals(MorseNotation.NONE, MorseAlphabet.LATIN.fromLiteral('Ж'));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"ru", "uk", "be", "bg", "sr", "el", "ja"})
+    void keysLatinTextInEveryLanguage(String language) {
+        String latin = new MorseCode("SOS hi 42").getNotation();
+        MorseCode mc = new MorseCode("SOS hi 42", Locale.forLanguageTag(language));
+        assertEquals(latin, mc.getNotation());
+        assertEquals("SOS HI 42", mc.getClearText());
+    }
+
+    @Test
+    void lettersOfTheScriptWinWhenDecoding() {
+        // 'A' and 'А' are both '·–'
+        String notation = new MorseCode("A", MorseAlphabet.CYRILLIC).getNotation();
+        assertEquals(new MorseCode("A").getNotation(), notation);
+        assertEquals("А", MorseCode.decode(notation, DecodePolicy.SKIP, MorseAlphabet.CYRILLIC).text());
+    }
+
+    @Test
+    void resolvesUpperCaseOutsideOfTheBlock() {
+        // dotless 'ı' and long 'ſ' have the upper case forms 'I' and 'S'
+        assertEquals(MorseNotation.I, MorseAlphabet.LATIN.fromLiteral('ı'));
+        assertEquals(MorseNotation.S, MorseAlphabet.LATIN.fromLiteral('ſ'));
+        assertEquals(MorseNotation.I, MorseAlphabet.CYRILLIC.fromLiteral('ı'));
+        assertEquals(new MorseCode("SIS").getNotation(), new MorseCode("ſıs").getNotation());
+    }
+
+    @Test
+    void germanKeysChAsSingleLetter() throws IOException {
+        String german = new MorseCode("Dach", MorseAlphabet.GERMAN).getNotation();
+        assertEquals(new MorseCode("Dach", Locale.GERMAN).getNotation(), german);
+        assertNotEquals(new MorseCode("Dach").getNotation(), german);
+
+        StringBuilder sb = new StringBuilder();
+        new MorseEncoder(MorseAlphabet.GERMAN, false).encode("Dach", sb);
+        assertEquals(german, sb.toString());
+    }
+
+    @Test
+    void encoderMatchesMorseCode() throws IOException {
+        for (String message : new String[]{"Привет мир", "Γειά σου", "がっこう"}) {
+            MorseAlphabet alphabet = MorseAlphabet.detect(message);
+            StringBuilder sb = new StringBuilder();
+            new MorseEncoder(alphabet, true).encode(message, sb);
+            assertEquals(new MorseCode(message, alphabet).getNotation(true), sb.toString());
+        }
+    }
+
+    @Test
+    void packedMessageKeepsItsAlphabet() {
+        MorseCode mc = new MorseCode("ПРИВЕТ", MorseAlphabet.CYRILLIC);
+        PackedMorseCode packed = mc.pack();
+        assertEquals("ПРИВЕТ", packed.getClearText());
+        assertEquals(MorseAlphabet.CYRILLIC, packed.unpack().getAlphabet());
+        assertNotEquals(new MorseCode("ПРИВЕТ", MorseAlphabet.GREEK).pack(), packed);
+    }
+}
@@ -0,0 +1,138 @@
+package strings;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MorseAudioDecoderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @CsvSource({
+            "Hello World, 20, 800",
+            "SOS SOS, 5, 600",
+            "The quick brown fox jumps over the lazy dog 1234567890, 40, 1000",
+            "Paris, 50, 700",
+            "TTT MMM, 15, 800",
+            "'What?! (Yes) = +', 25, 440"
+    })
+    void roundTripsWaveFiles(String message, int wordsPerMinute, int beepFrequency) throws Exception {
+        MorseCode mc = new MorseCode(message);
+        Path path = tempDir.resolve("signal.wav");
+        mc.saveSignal(path, AudioFileFormat.Type.WAVE, wordsPerMinute, beepFrequency);
+        assertEquals(mc.getClearText(), MorseAudioDecoder.decode(path));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "T, 20", "TT, 15", "T T, 25", "TTT MMM O, 18", "M, 12", "OOO, 30",
+            // all dits, the counterparts of the above
+            "E, 20", "I, 15", "E E, 25", "SSS, 30"
+    })
+    void decodesMessagesWithMarksOfOneClass(String message, int wordsPerMinute) throws Exception {
+        try (AudioInputStream ais = new MorseCode(message).getAudioInputStream(wordsPerMinute, 800)) {
+            assertEquals(message, MorseAudioDecoder.decode(ais));
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "A B C DEFG, 20", "2 2A4, 20", "X 9TJ GD, 20", "I A M HERE, 25", "O K THEN SO, 15"
+    })
+    void keepsSpacesAfterOneLetterWords(String message, int wordsPerMinute) throws Exception {
+        MorseCode mc = new MorseCode(message);
+        Path path = tempDir.resolve("signal.wav");
+        mc.saveSignal(path, AudioFileFormat.Type.WAVE, wordsPerMinute, 800);
+        assertEquals(message, MorseAudioDecoder.decode(path));
+    }
+
+    @Test
+    void waitsForWordGapsOfMildFarnsworthTiming() throws Exception {
+        // letter gaps of about six dits, like word gaps at standard timing
+        MorseCode mc = new MorseCode("DEFGHI JKLM");
+        try (AudioInputStream ais = mc.getAudioInputStream(TimingProfile.farnsworth(20, 15), 800)) {
+            assertEquals("DEFGHI JKLM", MorseAudioDecoder.decode(ais));
+        }
+    }
+
+    @Test
+    void waitsForDitsBeforeEstimating() throws Exception {
+        // far more than the first runs without a single dit or gap within a letter
+        String message = "T".repeat(40) + " ETA";
+        try (AudioInputStream ais = new MorseCode(message).getAudioInputStream(35, 800)) {
+            assertEquals(message, MorseAudioDecoder.decode(ais));
+        }
+    }
+
+    @Test
+    void roundTripsAuFiles() throws Exception {
+        MorseCode mc = new MorseCode("Drachen haben\neinen großen Rachen", Locale.GERMAN);
+        Path path = tempDir.resolve("signal.au");
+        mc.saveSignal(path, AudioFileFormat.Type.AU, 18, 800);
+        // line separators are keyed as word gaps
+        assertEquals(mc.getClearText().replace(MorseCode.LINE_SEPARATOR, " "), MorseAudioDecoder.decode(path));
+    }
+
+    @Test
+    void decodesFarnsworthTiming() throws Exception {
+        MorseCode mc = new MorseCode("Farnsworth timing 73");
+        try (AudioInputStream ais = mc.getAudioInputStream(TimingProfile.farnsworth(20, 8).withWeight(60), 750)) {
+            assertEquals(mc.getClearText(), MorseAudioDecoder.decode(ais));
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "8000, 8, true",
+            "22050, 16, false",
+            "44100, 16, false",
+            "48000, 16, true"
+    })
+    void decodesOtherFormats(float sampleRate, int sampleSizeInBits, boolean bigEndian) throws Exception {
+        MorseCode mc = new MorseCode("CQ CQ DE DL1ABC");
+        AudioFormat format = new AudioFormat(sampleRate, sampleSizeInBits, 1, true, bigEndian);
+        try (AudioInputStream ais = mc.getAudioInputStream(TimingProfile.of(22), format, 650)) {
+            assertEquals(format, ais.getFormat());
+            assertEquals("CQ CQ DE DL1ABC", MorseAudioDecoder.decode(ais));
+        }
+    }
+
+    @Test
+    void followsChangesOfSpeed() throws Exception {
+        ByteArrayOutputStream audio = new ByteArrayOutputStream();
+        int wordsPerMinute = 15;
+        for (String word : new String[]{"PARIS", "PARIS", "PARIS", "PARIS", "PARIS"}) {
+            try (AudioInputStream ais = new MorseCode(word).getAudioInputStream(wordsPerMinute, 800)) {
+                audio.write(ais.readAllBytes());
+            }
+            TimingProfile profile = TimingProfile.of(wordsPerMinute);
+            audio.write(new byte[(int) Math.round(profile.wordGapSeconds() * profile.sampleRate())]);
+            wordsPerMinute += 5;
+        }
+        AudioFormat format = MorseCode.getAudioFormat(TimingProfile.DEFAULT_SAMPLE_RATE);
+        AudioInputStream ais = new AudioInputStream(new ByteArrayInputStream(audio.toByteArray()), format,
+                                                    audio.size());
+        assertEquals("PARIS PARIS PARIS PARIS PARIS", MorseAudioDecoder.decode(ais));
+    }
+
+    @Test
+    void silenceDecodesToNothing() throws Exception {
+        AudioInputStream ais = new AudioInputStream(new ByteArrayInputStream(new byte[16384]),
+                                                    MorseCode.getAudioFormat(TimingProfile.DEFAULT_SAMPLE_RATE), 16384);
+        assertEquals("", MorseAudioDecoder.decode(ais));
+        assertThrows(IllegalArgumentException.class, () -> MorseAudioDecoder.decode((AudioInputStream) null));
+    }
+}
@@ -0,0 +1,58 @@
+package strings;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MorseBatchTest {
+
+    private static final List<String> MESSAGES = List.of("", "   ", "Hello World!", "Hello\nNewline?",
+            "Drachen haben einen großen Rachen", "Trailing whitespaces     ", "Hello\tTabulator",
+            "The quick brown fox jumps over the lazy dog. ".repeat(5000) + "\n1234567890 ".repeat(3000));
+
+    @Test
+    void encodeKeepsOrderAndMatchesSingleEncoding() {
+        List<String> expected = new ArrayList<>();
+        for (String message : MESSAGES) {
+            expected.add(new MorseCode(message, Locale.GERMAN).getNotation(true));
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        assertEquals(expected, MorseBatch.encode(MESSAGES, Locale.GERMAN, true, pool));
+        pool.shutdown();
+    }
+
+    @Test
+    void decodeKeepsOrderAndMatchesSingleDecoding() {
+        List<String> morseCodes = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (String message : MESSAGES) {
+            MorseCode mc = new MorseCode(message);
+            morseCodes.add(mc.getNotation(false));
+            morseCodes.add(mc.getNotation(true));
+        }
+        morseCodes.add(null);
+        morseCodes.add("not a Morse code");
+        for (String morseCode : morseCodes) {
+            expected.add(MorseCode.decode(morseCode));
+        }
+        assertEquals(expected, MorseBatch.decode(morseCodes));
+    }
+
+    @Test
+    void encodeAcceptsStream() {
+        assertEquals(List.of("···", "–––"), MorseBatch.encode(Stream.of("S", "O"), Locale.ENGLISH, false));
+    }
+
+    @Test
+    void encodeRejectsNullMessage() {
+        List<String> messages = new ArrayList<>();
+        messages.add(null);
+        assertThrows(IllegalArgumentException.class, () -> MorseBatch.encode(messages, Locale.ENGLISH, false));
+    }
+}
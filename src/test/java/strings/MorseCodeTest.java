@@ -5,6 +5,9 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvFileSource;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.CharBuffer;
 import java.util.Locale;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -125,4 +128,30 @@ class MorseCodeTest {
         MorseCode mc = new MorseCode(key);
         assertEquals(value, mc.getSpokenNotation());
     }
-}
\ No newline at end of file
+
+    @ParameterizedTest
+    @CsvFileSource(resources = "/testdata_get_sequence_of_strings.csv")
+    void getNotationIntoBuffersMatchesString(String key, String value) throws IOException {
+        MorseCode mc = new MorseCode(key);
+        for (boolean asSignalSequence : new boolean[]{false, true}) {
+            String expected = mc.getNotation(asSignalSequence);
+            assertEquals(expected.length(), mc.getNotationLength(asSignalSequence));
+            assertEquals(expected, mc.getNotation(asSignalSequence, new StringBuilder()).toString());
+            assertEquals(expected, mc.getNotation(asSignalSequence, CharBuffer.allocate(expected.length())).flip()
+                                     .toString());
+
+            char[] chars = new char[expected.length() + 2];
+            assertEquals(expected.length(), mc.getNotation(asSignalSequence, chars, 1));
+            assertEquals(expected, new String(chars, 1, expected.length()));
+        }
+    }
+
+    @Test
+    void getNotationRejectsTooSmallBuffers() {
+        MorseCode mc = new MorseCode("SOS");
+        int length = mc.getNotationLength(false);
+        assertThrows(BufferOverflowException.class, () -> mc.getNotation(false, CharBuffer.allocate(length - 1)));
+        assertThrows(IllegalArgumentException.class, () -> mc.getNotation(false, new char[length], 1));
+        assertThrows(IllegalArgumentException.class, () -> mc.getNotation(false, (char[]) null, 0));
+    }
+}
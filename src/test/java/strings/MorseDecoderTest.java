@@ -0,0 +1,109 @@
+package strings;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvFileSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MorseDecoderTest {
+
+    // ten marks are more than any letter has
+    private static final String TOO_LONG = "··········";
+    private static final String INVALID_MESSAGE = STR."·– \{TOO_LONG} –";
+
+    @ParameterizedTest
+    @CsvFileSource(resources = "/testdata_decode_sequence_of_strings.csv", nullValues = "null")
+    void feedMorseSequenceInChunks(String key, String value) {
+        if (key == null) return;
+        assertEquals(value, feedInChunks(key, 2));
+    }
+
+    @ParameterizedTest
+    @CsvFileSource(resources = "/testdata_decode_signal_sequence_of_strings.csv", nullValues = "null")
+    void feedSignalSequenceInChunks(String key, String value) {
+        if (key == null) return;
+        assertEquals(value, feedInChunks(key, 5));
+    }
+
+    @Test
+    void feedEmitsLettersOnceTheirGapCloses() {
+        MorseDecoder decoder = new MorseDecoder();
+        assertEquals("", decoder.feed("▓˽▓▓"));
+        assertEquals("", decoder.feed("▓˽˽"));
+        assertEquals("A", decoder.feed("˽"));
+        assertEquals(" ", decoder.feed("˽˽˽˽▓▓▓"));
+        assertEquals("T", decoder.finish());
+    }
+
+    @Test
+    void finishResetsSession() {
+        MorseDecoder decoder = new MorseDecoder();
+        assertEquals("S", decoder.feed("··· ") + decoder.finish());
+        assertEquals("E", decoder.feed("▓") + decoder.finish());
+    }
+
+    @Test
+    void feedRejectsNull() {
+        assertThrows(IllegalArgumentException.class, () -> new MorseDecoder().feed(null));
+    }
+
+    @Test
+    void reportsInvalidTokensWithTheirPosition() {
+        DecodeResult result = MorseCode.decode(INVALID_MESSAGE, DecodePolicy.SKIP);
+        assertEquals("AT", result.text());
+        assertEquals(List.of(new DecodeResult.InvalidToken(3, TOO_LONG)), result.invalidTokens());
+        assertFalse(result.isValid());
+        assertTrue(MorseCode.decode("·– –", DecodePolicy.SKIP).isValid());
+    }
+
+    @Test
+    void replacesInvalidTokens() {
+        assertEquals(STR."A\{DecodePolicy.REPLACEMENT}T",
+                     MorseCode.decode(INVALID_MESSAGE, DecodePolicy.REPLACE).text());
+        DecodeResult notMorse = MorseCode.decode("  Hello", DecodePolicy.REPLACE);
+        assertEquals(String.valueOf(DecodePolicy.REPLACEMENT), notMorse.text());
+        assertEquals(List.of(new DecodeResult.InvalidToken(2, "H")), notMorse.invalidTokens());
+    }
+
+    @Test
+    void failsFastOnInvalidTokens() {
+        assertThrows(IllegalArgumentException.class, () -> MorseCode.decode(INVALID_MESSAGE, DecodePolicy.FAIL_FAST));
+        assertThrows(IllegalArgumentException.class, () -> new MorseDecoder(null));
+    }
+
+    @Test
+    void positionsSpanChunksUntilTheNextMessage() {
+        MorseDecoder decoder = new MorseDecoder(DecodePolicy.SKIP);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < INVALID_MESSAGE.length(); i += 2) {
+            sb.append(decoder.feed(INVALID_MESSAGE.substring(i, Math.min(INVALID_MESSAGE.length(), i + 2))));
+        }
+        assertEquals("AT", sb.append(decoder.finish()).toString());
+        assertEquals(List.of(new DecodeResult.InvalidToken(3, TOO_LONG)), decoder.getInvalidTokens());
+
+        assertEquals("E", decoder.feed("·") + decoder.finish());
+        assertEquals(0, decoder.getInvalidTokenCount());
+    }
+
+    @Test
+    void keepsOnlyTheFirstInvalidTokens() {
+        String message = (TOO_LONG + " ").repeat(DecodeResult.MAX_REPORTED_TOKENS + 10);
+        DecodeResult result = MorseCode.decode(message, DecodePolicy.SKIP);
+        assertEquals("", result.text());
+        assertEquals(DecodeResult.MAX_REPORTED_TOKENS, result.invalidTokens().size());
+        assertEquals(DecodeResult.MAX_REPORTED_TOKENS + 10, result.invalidTokenCount());
+        assertEquals(TOO_LONG.length() + 1, result.invalidTokens().get(1).position());
+    }
+
+    private static String feedInChunks(String message, int chunkLength) {
+        MorseDecoder decoder = new MorseDecoder();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < message.length(); i += chunkLength) {
+            sb.append(decoder.feed(message.substring(i, Math.min(message.length(), i + chunkLength))));
+        }
+        return sb.append(decoder.finish()).toString();
+    }
+}
@@ -0,0 +1,68 @@
+package strings;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvFileSource;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MorseEncoderTest {
+
+    @ParameterizedTest
+    @CsvFileSource(resources = "/testdata_get_sequence_of_strings.csv", nullValues = "null")
+    void encodeMorseSequenceOfStrings(String key, String value) throws IOException {
+        if (key == null) return;
+        StringBuilder sb = new StringBuilder();
+        new MorseEncoder(Locale.ENGLISH).encode(key, sb);
+        assertEquals(new MorseCode(key).getNotation(), sb.toString());
+    }
+
+    @ParameterizedTest
+    @CsvFileSource(resources = "/testdata_get_signal_sequence_of_strings.csv", nullValues = "null")
+    void encodeSignalSequenceOfStringsFromReader(String key, String value) throws IOException {
+        if (key == null) return;
+        StringBuilder sb = new StringBuilder();
+        new MorseEncoder(Locale.ENGLISH, true).encode(new StringReader(key), sb);
+        assertEquals(new MorseCode(key).getNotation(true), sb.toString());
+    }
+
+    @Test
+    void encodeKeepsLookaheadAcrossReads() throws IOException {
+        final String message = "Drachen\r\nlachen\rch\nc";
+        StringBuilder sb = new StringBuilder();
+        new MorseEncoder(Locale.GERMAN).encode(new SingleCharReader(message), sb);
+        assertEquals(new MorseCode(message, Locale.GERMAN).getNotation(), sb.toString());
+    }
+
+    @Test
+    void encodeRejectsNull() {
+        MorseEncoder encoder = new MorseEncoder(Locale.ENGLISH);
+        assertThrows(IllegalArgumentException.class, () -> encoder.encode((CharSequence) null, new StringBuilder()));
+        assertThrows(IllegalArgumentException.class, () -> encoder.encode(new StringReader(""), null));
+    }
+
+    /**
+     * Hands out one char per read, so every lookahead has to cross a buffer boundary.
+     */
+    private static final class SingleCharReader extends Reader {
+        private final String str;
+        private int position = 0;
+
+        SingleCharReader(String str) { this.str = str; }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) {
+            if (position >= str.length()) return -1;
+            cbuf[off] = str.charAt(position++);
+            return 1;
+        }
+
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,114 @@
+package strings;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sound.sampled.AudioInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MorseMetricsTest {
+
+    private final MorseMetrics metrics = new MorseMetrics();
+    private final List<String> warnings = new ArrayList<>();
+
+    @BeforeEach
+    void register() {
+        MorseCode.setListener(new MorseListener() {
+            @Override
+            public void onEncoded(int characters, int unknownCharacters) {
+                metrics.onEncoded(characters, unknownCharacters);
+            }
+
+            @Override
+            public void onDecoded(int characters, int unknownSymbols) {
+                metrics.onDecoded(characters, unknownSymbols);
+            }
+
+            @Override
+            public void onSynthesized(long samples) { metrics.onSynthesized(samples); }
+
+            @Override
+            public void onCompleted(Operation operation, long nanos) { metrics.onCompleted(operation, nanos); }
+
+            @Override
+            public void onWarning(String message) {
+                metrics.onWarning(message);
+                warnings.add(message);
+            }
+        });
+    }
+
+    @AfterEach
+    void unregister() { MorseCode.setListener(MorseListener.NO_OP); }
+
+    @Test
+    void countsEncodedCharacters() throws IOException {
+        new MorseCode("SOS ~");
+        new MorseEncoder(Locale.ENGLISH).encode(new StringReader("Hi"), new StringBuilder());
+
+        assertEquals(7, metrics.getCharactersEncoded());
+        assertEquals(1, metrics.getUnknownCharacters());
+        assertEquals(2, metrics.getCount(MorseListener.Operation.ENCODE));
+        assertEquals(List.of("No valid Morse code available for character '~'"), warnings);
+    }
+
+    @Test
+    void countsDecodedCharacters() {
+        String notation = new MorseCode("PARIS").getNotation();
+        assertEquals("PARIS", MorseCode.decode(notation));
+        // too many marks for any letter, followed by an 'E'
+        String tooLong = String.valueOf(MorseCode.MorseNotation.SHORT_MARK).repeat(12);
+        MorseCode.decode(STR."\{tooLong} \{MorseCode.MorseNotation.SHORT_MARK}");
+
+        assertEquals(6, metrics.getCharactersDecoded());
+        assertEquals(1, metrics.getUnknownSymbols());
+        assertEquals(2, metrics.getCount(MorseListener.Operation.DECODE));
+        assertEquals(1, warnings.size());
+        assertTrue(warnings.getFirst().startsWith("No valid character conversion found"));
+    }
+
+    @Test
+    void countsSynthesizedSamples() throws IOException {
+        try (AudioInputStream ais = new MorseCode("E").getAudioInputStream(20, 800)) {
+            long frames = ais.getFrameLength();
+            ais.readAllBytes();
+            assertEquals(frames, metrics.getSamplesSynthesized());
+        }
+        assertTrue(metrics.getCount(MorseListener.Operation.SYNTHESIZE) > 0);
+    }
+
+    @Test
+    void latencyPercentiles() {
+        MorseMetrics latencies = new MorseMetrics();
+        assertEquals(0, latencies.getLatencyPercentile(MorseListener.Operation.DECODE, 0.5));
+        for (int i = 0; i < 99; i++) {
+            latencies.onCompleted(MorseListener.Operation.DECODE, 1_000);
+        }
+        latencies.onCompleted(MorseListener.Operation.DECODE, 1_000_000);
+
+        long median = latencies.getLatencyPercentile(MorseListener.Operation.DECODE, 0.5);
+        long max = latencies.getLatencyPercentile(MorseListener.Operation.DECODE, 1);
+        assertTrue(median >= 1_000 && median < 2_000);
+        assertTrue(max >= 1_000_000 && max < 2_000_000);
+        assertEquals(100, latencies.getCount(MorseListener.Operation.DECODE));
+        assertEquals(0, latencies.getCount(MorseListener.Operation.ENCODE));
+        assertThrows(IllegalArgumentException.class,
+                     () -> latencies.getLatencyPercentile(MorseListener.Operation.DECODE, 1.5));
+    }
+
+    @Test
+    void noOpListenerIsTheDefault() {
+        MorseCode.setListener(MorseListener.NO_OP);
+        new MorseCode("~");
+        assertSame(MorseListener.NO_OP, MorseCode.getListener());
+        assertTrue(warnings.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> MorseCode.setListener(null));
+    }
+}
@@ -0,0 +1,132 @@
+package strings;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.LineUnavailableException;
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MorsePlayerTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Test
+    void playsMessagesOnASharedLine() throws Exception {
+        FakeSourceDataLine line = new FakeSourceDataLine();
+        AtomicInteger lineRequests = new AtomicInteger();
+        MorseCode first = new MorseCode("SOS");
+        MorseCode second = new MorseCode("Hello World");
+
+        try (MorsePlayer player = new MorsePlayer(format -> {
+            lineRequests.incrementAndGet();
+            return line;
+        })) {
+            AtomicLong progress = new AtomicLong();
+            MorsePlayer.Playback playback = player.play(first, 30, 700, (played, length) -> progress.set(played));
+            player.play(second, 30, 700).future().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+            assertTrue(playback.isDone());
+            assertEquals(playback.getFrameLength(), progress.get());
+            assertEquals(1.0, playback.getProgress());
+        }
+        assertEquals(1, lineRequests.get());
+        assertEquals(1, line.openCount.get());
+        assertFalse(line.isOpen());
+        assertArrayEquals(concat(audio(first), audio(second)), line.written.toByteArray());
+    }
+
+    @Test
+    void cancelSkipsTheRestOfAMessage() throws Exception {
+        FakeSourceDataLine line = new FakeSourceDataLine();
+        line.gate = new Semaphore(0);
+        try (MorsePlayer player = new MorsePlayer(format -> line)) {
+            MorsePlayer.Playback playing = player.play(new MorseCode("Paris ".repeat(20)), 20, 800);
+            MorsePlayer.Playback queued = player.play(new MorseCode("queued"), 20, 800);
+            MorsePlayer.Playback following = player.play(new MorseCode("E"), 20, 800);
+
+            // wait until the playback thread is stuck in the first write of the first message
+            Semaphore gate = line.gate;
+            while (!gate.hasQueuedThreads()) Thread.onSpinWait();
+            assertTrue(queued.cancel());
+            assertTrue(playing.cancel());
+            line.gate = null;
+            gate.release(Integer.MAX_VALUE / 2);
+
+            following.future().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertThrows(CancellationException.class, () -> playing.future().join());
+            assertThrows(CancellationException.class, () -> queued.future().join());
+            assertTrue(playing.getFramesPlayed() < playing.getFrameLength());
+            assertTrue(line.flushCount.get() > 0);
+        }
+    }
+
+    @Test
+    void pauseHoldsThePlayback() throws Exception {
+        FakeSourceDataLine line = new FakeSourceDataLine();
+        try (MorsePlayer player = new MorsePlayer(format -> line)) {
+            MorsePlayer.Playback playback = player.play(new MorseCode("SOS"), 20, 800);
+            playback.pause();
+            assertTrue(playback.isPaused());
+
+            playback.resume();
+            playback.future().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertFalse(playback.isPaused());
+            assertEquals(playback.getFrameLength(), playback.getFramesPlayed());
+        }
+    }
+
+    @Test
+    void playsOnLinesWithTinyBuffers() throws Exception {
+        // less than two frames, so half of the buffer holds no whole frame
+        FakeSourceDataLine line = new FakeSourceDataLine() {
+            @Override
+            public int getBufferSize() { return 1; }
+        };
+        MorseCode mc = new MorseCode("E");
+        try (MorsePlayer player = new MorsePlayer(format -> line)) {
+            MorsePlayer.Playback playback = player.play(mc, 30, 700);
+            playback.future().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertEquals(playback.getFrameLength(), playback.getFramesPlayed());
+        }
+        assertArrayEquals(audio(mc), line.written.toByteArray());
+    }
+
+    @Test
+    void reportsUnavailableLine() {
+        try (MorsePlayer player = new MorsePlayer(format -> { throw new LineUnavailableException("no line"); })) {
+            MorsePlayer.Playback playback = player.play(new MorseCode("SOS"), 20, 800);
+            ExecutionException e = assertThrows(ExecutionException.class,
+                                                () -> playback.future().get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            assertInstanceOf(LineUnavailableException.class, e.getCause());
+        }
+    }
+
+    @Test
+    void closedPlayerRejectsMessages() {
+        MorsePlayer player = new MorsePlayer(format -> new FakeSourceDataLine());
+        player.close();
+        assertTrue(player.play(new MorseCode("SOS"), 20, 800).future().isCompletedExceptionally());
+        assertThrows(IllegalArgumentException.class, () -> player.play(null, 20, 800));
+    }
+
+    private static byte[] audio(MorseCode mc) throws IOException {
+        try (AudioInputStream ais = mc.getAudioInputStream(30, 700)) {
+            return ais.readAllBytes();
+        }
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        byte[] result = new byte[a.length + b.length];
+        System.arraycopy(a, 0, result, 0, a.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+}
@@ -0,0 +1,57 @@
+package strings;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvFileSource;
+
+import javax.sound.sampled.AudioInputStream;
+import java.io.IOException;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedMorseCodeTest {
+
+    @ParameterizedTest
+    @CsvFileSource(resources = "/testdata_get_cleartxt_of_strings.csv")
+    void packedMessageMatchesMorseCode(String key, String value) throws IOException {
+        MorseCode mc = new MorseCode(key, Locale.GERMAN);
+        PackedMorseCode packed = mc.pack();
+
+        assertEquals(mc.getClearText(), packed.getClearText());
+        assertEquals(mc.getNotation(false), packed.getNotation(false));
+        assertEquals(mc.getNotation(true), packed.getNotation(true, new StringBuilder()).toString());
+        assertEquals(mc.toString(), packed.toString());
+        try (AudioInputStream expected = mc.getAudioInputStream(20, 800);
+             AudioInputStream actual = packed.getAudioInputStream(20, 800)) {
+            assertArrayEquals(expected.readAllBytes(), actual.readAllBytes());
+        }
+    }
+
+    @Test
+    void keepsEveryNotationAcrossWordBoundaries() {
+        // 11-bit codes do not line up with 64-bit words, so some codes are split across two of them
+        String message = "SOS 0123456789 \t\nHELLO ÄÖÜ ß ?!#".repeat(20);
+        MorseCode mc = new MorseCode(message, Locale.GERMAN);
+        PackedMorseCode packed = mc.pack();
+        assertEquals(mc.toString(), packed.unpack().toString());
+        assertEquals(mc.getClearText(), packed.getClearText());
+    }
+
+    @Test
+    void equalMessagesAreEqual() {
+        PackedMorseCode packed = PackedMorseCode.of("Hello World", Locale.ENGLISH);
+        assertEquals(packed, PackedMorseCode.of("HELLO WORLD", Locale.ENGLISH));
+        assertEquals(packed.hashCode(), PackedMorseCode.of("HELLO WORLD", Locale.ENGLISH).hashCode());
+        assertNotEquals(packed, PackedMorseCode.of("Hello World!", Locale.ENGLISH));
+        assertEquals(11, packed.length());
+    }
+
+    @Test
+    void emptyMessage() {
+        PackedMorseCode packed = PackedMorseCode.of("", Locale.ENGLISH);
+        assertEquals(0, packed.length());
+        assertEquals("", packed.getClearText());
+        assertEquals("", packed.getNotation(true));
+    }
+}
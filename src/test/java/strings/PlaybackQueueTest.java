@@ -0,0 +1,156 @@
+package strings;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sound.sampled.AudioInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaybackQueueTest {
+
+    private static final int WPM = 30;
+    private static final int FREQUENCY = 700;
+
+    @Test
+    void playsConsecutiveMessagesWithTheConfiguredGap() throws Exception {
+        FakeSourceDataLine line = new FakeSourceDataLine();
+        // nothing is ever played out, so the second message always follows the first one
+        line.framesPlayed = 0;
+        MorseCode first = new MorseCode("SOS");
+        MorseCode second = new MorseCode("Paris");
+
+        PlaybackQueue queue = new PlaybackQueue(TimingProfile.of(WPM), FREQUENCY, 2, 8, format -> line);
+        queue.put(first);
+        queue.put(second);
+        queue.close();
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        expected.write(audio(first));
+        TimingProfile profile = TimingProfile.of(WPM);
+        expected.write(new byte[(int) Math.round(2 * profile.wordGapSeconds() * profile.sampleRate())]);
+        expected.write(audio(second));
+        assertArrayEquals(expected.toByteArray(), line.written.toByteArray());
+        assertEquals(1, line.openCount.get());
+        assertFalse(line.isOpen());
+
+        PlaybackQueue.Metrics metrics = queue.getMetrics();
+        assertEquals(expected.size(), metrics.samplesWritten());
+        assertEquals(0, metrics.queueDepth());
+        assertEquals(0, metrics.bufferedSamples());
+        assertTrue(metrics.samplesPerSecond() > 0);
+    }
+
+    @Test
+    void startsRightAwayWhenIdle() throws Exception {
+        FakeSourceDataLine line = new FakeSourceDataLine();
+        MorseCode first = new MorseCode("SOS");
+        MorseCode second = new MorseCode("E");
+
+        PlaybackQueue queue = new PlaybackQueue(TimingProfile.of(WPM), FREQUENCY, 1, 8, format -> line);
+        queue.put(first);
+        byte[] firstAudio = audio(first);
+        while (queue.getMetrics().samplesWritten() < firstAudio.length) Thread.onSpinWait();
+        queue.put(second);
+        queue.close();
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        expected.write(firstAudio);
+        expected.write(audio(second));
+        assertArrayEquals(expected.toByteArray(), line.written.toByteArray());
+    }
+
+    @Test
+    void appliesBackpressure() throws Exception {
+        FakeSourceDataLine line = new FakeSourceDataLine();
+        line.gate = new Semaphore(0);
+        PlaybackQueue queue = new PlaybackQueue(TimingProfile.of(WPM), FREQUENCY, 1, 1, format -> line);
+
+        // the first message fills the ring buffer, the second one waits in the queue
+        queue.put(new MorseCode("Paris ".repeat(10)));
+        while (queue.getMetrics().queueDepth() > 0) Thread.onSpinWait();
+        assertTrue(queue.offer(new MorseCode("SOS")));
+        assertFalse(queue.offer(new MorseCode("SOS")));
+        assertEquals(1, queue.getMetrics().queueDepth());
+
+        Semaphore gate = line.gate;
+        line.gate = null;
+        gate.release(Integer.MAX_VALUE / 2);
+        queue.close();
+        assertThrows(IllegalStateException.class, () -> queue.offer(new MorseCode("SOS")));
+        assertEquals(0, queue.getMetrics().queueDepth());
+    }
+
+    @Test
+    void playsOrRejectsMessagesQueuedWhileClosing() throws Exception {
+        int messageSize = audio(new MorseCode("E")).length;
+        for (int i = 0; i < 200; i++) {
+            FakeSourceDataLine line = new FakeSourceDataLine();
+            // a queue of one message, so puts also wait for room while the queue is closed
+            PlaybackQueue queue = new PlaybackQueue(TimingProfile.of(WPM), FREQUENCY, 0, 1, format -> line);
+            AtomicInteger accepted = new AtomicInteger();
+            List<Thread> producers = new ArrayList<>();
+            for (int p = 0; p < 3; p++) {
+                producers.add(Thread.ofPlatform().start(() -> {
+                    try {
+                        for (int m = 0; m < 5; m++) {
+                            queue.put(new MorseCode("E"));
+                            accepted.incrementAndGet();
+                        }
+                    } catch (IllegalStateException | InterruptedException e) {
+                        // closed
+                    }
+                }));
+            }
+            queue.close();
+            for (Thread producer : producers) {
+                producer.join(TimeUnit.SECONDS.toMillis(10));
+                assertFalse(producer.isAlive());
+            }
+            // every accepted message has been played, none is left behind the end of the queue
+            assertEquals(0, queue.getMetrics().queueDepth());
+            assertEquals(accepted.get() * messageSize, line.writtenSize());
+        }
+    }
+
+    @Test
+    void stopsPlaybackWhenInterruptedWhileClosing() {
+        FakeSourceDataLine line = new FakeSourceDataLine();
+        line.gate = new Semaphore(0);
+        PlaybackQueue queue = new PlaybackQueue(TimingProfile.of(WPM), FREQUENCY, 1, 8, format -> line);
+        assertTrue(queue.offer(new MorseCode("Paris ".repeat(10))));
+
+        Thread.currentThread().interrupt();
+        queue.close();
+        // the flag is kept for the caller
+        assertTrue(Thread.interrupted());
+
+        line.gate.release(Integer.MAX_VALUE / 2);
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (line.isOpen() && System.nanoTime() < deadline) Thread.onSpinWait();
+        assertFalse(line.isOpen());
+        assertThrows(IllegalStateException.class, () -> queue.offer(new MorseCode("SOS")));
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        TimingProfile profile = TimingProfile.of(WPM);
+        MorsePlayer.LineFactory lines = format -> null;
+        assertThrows(IllegalArgumentException.class, () -> new PlaybackQueue(profile, FREQUENCY, -1, 8, lines));
+        assertThrows(IllegalArgumentException.class, () -> new PlaybackQueue(profile, FREQUENCY, 1, 0, lines));
+        assertThrows(IllegalArgumentException.class, () -> new PlaybackQueue(profile, FREQUENCY, 1, 8, null));
+        assertThrows(IllegalArgumentException.class, () -> new PlaybackQueue(null, FREQUENCY, 1, 8, lines));
+    }
+
+    private static byte[] audio(MorseCode mc) throws IOException {
+        try (AudioInputStream ais = mc.getAudioInputStream(WPM, FREQUENCY)) {
+            return ais.readAllBytes();
+        }
+    }
+}
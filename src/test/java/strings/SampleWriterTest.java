@@ -0,0 +1,71 @@
+package strings;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SampleWriterTest {
+
+    private static final MorseCode MORSE_CODE = new MorseCode("SOS");
+    private static final TimingProfile PROFILE = TimingProfile.of(20);
+
+    @Test
+    void sixteenBitByteOrders() throws IOException {
+        byte[] big = samples(new AudioFormat(48000, 16, 1, true, true));
+        byte[] little = samples(new AudioFormat(48000, 16, 1, true, false));
+        assertEquals(big.length, little.length);
+        for (int i = 0; i < big.length; i += 2) {
+            assertEquals(big[i], little[i + 1]);
+            assertEquals(big[i + 1], little[i]);
+        }
+    }
+
+    @Test
+    void sampleSizeKeepsTheTiming() throws IOException {
+        byte[] narrow = samples(new AudioFormat(44100, 8, 1, true, true));
+        byte[] wide = samples(new AudioFormat(44100, 16, 1, true, true));
+        assertEquals(2 * narrow.length, wide.length);
+        // both sample sizes carry the same waveform
+        for (int i = 0; i < narrow.length; i++) {
+            short sample = (short) (wide[2 * i] << 8 | wide[2 * i + 1] & 0xFF);
+            assertEquals(narrow[i], sample * (double) Byte.MAX_VALUE / Short.MAX_VALUE, 1.0);
+        }
+    }
+
+    @Test
+    void singleBytesOfSixteenBitFrames() throws IOException {
+        AudioFormat format = new AudioFormat(8000, 16, 1, true, false);
+        byte[] expected = samples(format);
+        List<MorseCode.MorseNotation> literals = "SOS".chars()
+                .mapToObj(c -> MorseCode.MorseNotation.fromLiteral((char) c)).toList();
+        // read() hands out the bytes of a frame one by one
+        try (var signal = new SignalInputStream(literals, PROFILE.withSampleRate(8000), format, 800)) {
+            for (byte b : expected) {
+                assertEquals(b & 0xFF, signal.read());
+            }
+            assertEquals(-1, signal.read());
+        }
+    }
+
+    @Test
+    void rejectsUnsupportedFormats() {
+        assertThrows(IllegalArgumentException.class, () -> SampleWriter.of(new AudioFormat(4000, 16, 1, true, true)));
+        assertThrows(IllegalArgumentException.class, () -> SampleWriter.of(new AudioFormat(96000, 16, 1, true, true)));
+        assertThrows(IllegalArgumentException.class, () -> SampleWriter.of(new AudioFormat(44100, 24, 1, true, true)));
+        assertThrows(IllegalArgumentException.class, () -> SampleWriter.of(new AudioFormat(44100, 16, 2, true, true)));
+        assertThrows(IllegalArgumentException.class, () -> SampleWriter.of(new AudioFormat(44100, 8, 1, false, true)));
+        assertThrows(IllegalArgumentException.class,
+                     () -> MORSE_CODE.getAudioInputStream(PROFILE, new AudioFormat(44100, 24, 1, true, true), 800));
+    }
+
+    private static byte[] samples(AudioFormat format) throws IOException {
+        try (AudioInputStream ais = MORSE_CODE.getAudioInputStream(PROFILE, format, 800)) {
+            return ais.readAllBytes();
+        }
+    }
+}
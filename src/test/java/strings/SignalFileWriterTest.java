@@ -0,0 +1,185 @@
+package strings;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignalFileWriterTest {
+
+    private static final int FRAMES = 1_000;
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @CsvSource({
+            "8000, 8, 1, true, false",
+            "8000, 8, 2, false, false",
+            "22050, 16, 1, true, false",
+            "44100, 16, 2, true, true"
+    })
+    void writesWaveHeader(float sampleRate, int bits, int channels, boolean signed, boolean bigEndian)
+            throws IOException {
+        AudioFormat format = new AudioFormat(sampleRate, bits, channels, signed, bigEndian);
+        byte[] samples = samples(format);
+        byte[] file = write(format, samples, AudioFileFormat.Type.WAVE, FRAMES);
+        int frameSize = bits / 8 * channels;
+        int dataSize = FRAMES * frameSize;
+
+        ByteBuffer header = ByteBuffer.wrap(file).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(44 + dataSize, file.length);
+        assertEquals("RIFF", ascii(file, 0));
+        assertEquals(36 + dataSize, header.getInt(4));
+        assertEquals("WAVE", ascii(file, 8));
+        assertEquals("fmt ", ascii(file, 12));
+        assertEquals(16, header.getInt(16));
+        // PCM
+        assertEquals(1, header.getShort(20));
+        assertEquals(channels, header.getShort(22));
+        assertEquals((int) sampleRate, header.getInt(24));
+        assertEquals((int) sampleRate * frameSize, header.getInt(28));
+        assertEquals(frameSize, header.getShort(32));
+        assertEquals(bits, header.getShort(34));
+        assertEquals("data", ascii(file, 36));
+        assertEquals(dataSize, header.getInt(40));
+
+        // 8-bit samples unsigned, 16-bit samples little endian
+        byte[] expected = convert(samples, format, bits == 8 && signed, bits == 16 && bigEndian);
+        assertArrayEquals(expected, Arrays.copyOfRange(file, 44, file.length));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "8000, 8, 1, true, false, 2",
+            "11025, 8, 2, false, false, 2",
+            "22050, 16, 1, true, false, 3",
+            "48000, 16, 2, true, true, 3"
+    })
+    void writesAuHeader(float sampleRate, int bits, int channels, boolean signed, boolean bigEndian, int encoding)
+            throws IOException {
+        AudioFormat format = new AudioFormat(sampleRate, bits, channels, signed, bigEndian);
+        byte[] samples = samples(format);
+        byte[] file = write(format, samples, AudioFileFormat.Type.AU, FRAMES);
+        int dataSize = FRAMES * bits / 8 * channels;
+
+        ByteBuffer header = ByteBuffer.wrap(file).order(ByteOrder.BIG_ENDIAN);
+        assertEquals(24 + dataSize, file.length);
+        assertEquals(".snd", ascii(file, 0));
+        assertEquals(24, header.getInt(4));
+        assertEquals(dataSize, header.getInt(8));
+        assertEquals(encoding, header.getInt(12));
+        assertEquals((int) sampleRate, header.getInt(16));
+        assertEquals(channels, header.getInt(20));
+
+        // 8-bit samples signed, 16-bit samples big endian
+        byte[] expected = convert(samples, format, bits == 8 && !signed, bits == 16 && !bigEndian);
+        assertArrayEquals(expected, Arrays.copyOfRange(file, 24, file.length));
+    }
+
+    @Test
+    void patchesHeaderOfStreamsOfUnknownLength() throws IOException {
+        AudioFormat format = new AudioFormat(8000, 16, 1, true, false);
+        byte[] samples = samples(format);
+        byte[] wave = write(format, samples, AudioFileFormat.Type.WAVE, AudioSystem.NOT_SPECIFIED);
+        ByteBuffer waveHeader = ByteBuffer.wrap(wave).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(36 + samples.length, waveHeader.getInt(4));
+        assertEquals(samples.length, waveHeader.getInt(40));
+
+        byte[] au = write(format, samples, AudioFileFormat.Type.AU, AudioSystem.NOT_SPECIFIED);
+        assertEquals(samples.length, ByteBuffer.wrap(au).getInt(8));
+    }
+
+    @Test
+    void readsBackWithTheSoundSystem() throws Exception {
+        AudioFormat format = new AudioFormat(22050, 16, 1, true, true);
+        byte[] samples = samples(format);
+        Path path = tempDir.resolve("signal.wav");
+        try (AudioInputStream ais = stream(format, samples, FRAMES)) {
+            assertEquals(44 + samples.length, SignalFileWriter.write(ais, AudioFileFormat.Type.WAVE, path));
+        }
+        try (AudioInputStream ais = AudioSystem.getAudioInputStream(path.toFile())) {
+            assertEquals(FRAMES, ais.getFrameLength());
+            assertEquals(22050, ais.getFormat().getSampleRate());
+            assertArrayEquals(convert(samples, format, false, true), ais.readAllBytes());
+        }
+    }
+
+    @Test
+    void handsOtherFormatsToTheSoundSystem() throws Exception {
+        AudioFormat format = new AudioFormat(8000, 16, 1, true, true);
+        Path path = tempDir.resolve("signal.aiff");
+        try (AudioInputStream ais = stream(format, samples(format), FRAMES)) {
+            SignalFileWriter.write(ais, AudioFileFormat.Type.AIFF, path);
+        }
+        assertEquals(AudioFileFormat.Type.AIFF, AudioSystem.getAudioFileFormat(path.toFile()).getType());
+    }
+
+    @Test
+    void failsForUnwritablePaths() throws IOException {
+        AudioFormat format = new AudioFormat(8000, 8, 1, true, false);
+        Path path = tempDir.resolve("missing").resolve("signal.wav");
+        try (AudioInputStream ais = stream(format, samples(format), FRAMES)) {
+            assertThrows(IOException.class, () -> SignalFileWriter.write(ais, AudioFileFormat.Type.WAVE, path));
+        }
+    }
+
+    private byte[] write(AudioFormat format, byte[] samples, AudioFileFormat.Type type, long frameLength)
+            throws IOException {
+        Path path = tempDir.resolve(STR."signal.\{type.getExtension()}");
+        long written;
+        try (AudioInputStream ais = stream(format, samples, frameLength)) {
+            written = SignalFileWriter.write(ais, type, path);
+        }
+        byte[] file = Files.readAllBytes(path);
+        assertEquals(file.length, written);
+        return file;
+    }
+
+    private static AudioInputStream stream(AudioFormat format, byte[] samples, long frameLength) {
+        InputStream in = new ByteArrayInputStream(samples);
+        return new AudioInputStream(in, format, frameLength);
+    }
+
+    // a byte pattern that tells sign flips and swapped bytes apart
+    private static byte[] samples(AudioFormat format) {
+        byte[] samples = new byte[FRAMES * format.getFrameSize()];
+        for (int i = 0; i < samples.length; i++) samples[i] = (byte) (i * 7 + 3);
+        return samples;
+    }
+
+    private static byte[] convert(byte[] samples, AudioFormat format, boolean flipSign, boolean swapBytes) {
+        byte[] converted = samples.clone();
+        if (flipSign) {
+            for (int i = 0; i < converted.length; i++) converted[i] ^= (byte) 0x80;
+        }
+        if (swapBytes && format.getSampleSizeInBits() == 16) {
+            for (int i = 0; i + 1 < converted.length; i += 2) {
+                byte tmp = converted[i];
+                converted[i] = converted[i + 1];
+                converted[i + 1] = tmp;
+            }
+        }
+        return converted;
+    }
+
+    private static String ascii(byte[] bytes, int offset) {
+        return new String(bytes, offset, 4, StandardCharsets.US_ASCII);
+    }
+}
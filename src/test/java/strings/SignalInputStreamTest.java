@@ -0,0 +1,108 @@
+package strings;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignalInputStreamTest {
+
+    private static final TimingProfile PROFILE = TimingProfile.of(20).withSampleRate(8000);
+    private static final AudioFormat FORMAT = new AudioFormat(8000, 16, 1, true, false);
+    private static final List<MorseCode.MorseNotation> LITERALS = "SOS".chars()
+            .mapToObj(c -> MorseCode.MorseNotation.fromLiteral((char) c)).toList();
+
+    @Test
+    void readsNothingIntoEmptyRanges() throws IOException {
+        byte[] buffer = new byte[4];
+        try (SignalInputStream signal = signal()) {
+            assertEquals(0, signal.read(buffer, 2, 0));
+            assertEquals(signal.length() * 2, signal.available());
+
+            signal.skip(Long.MAX_VALUE);
+            assertEquals(0, signal.available());
+            // zero length reads return 0 even at the end of the stream
+            assertEquals(0, signal.read(buffer, 0, 0));
+            assertEquals(-1, signal.read(buffer, 0, buffer.length));
+            assertEquals(-1, signal.read());
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> signal().read(buffer, 3, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> signal().read(buffer, -1, 0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 5, 1023})
+    void splitsFramesAcrossReads(int len) {
+        byte[] expected = readAll(signal(), 4096);
+        assertArrayEquals(expected, readAll(signal(), len));
+    }
+
+    @Test
+    void readsLessThanAFrame() throws IOException {
+        byte[] expected = readAll(signal(), 4096);
+        byte[] buffer = new byte[3];
+        try (SignalInputStream signal = signal()) {
+            // a single byte holds half of a frame, the other half is read next
+            assertEquals(1, signal.read(buffer, 0, 1));
+            assertEquals(expected[0], buffer[0]);
+            assertEquals(3, signal.read(buffer, 0, 3));
+            assertArrayEquals(Arrays.copyOfRange(expected, 1, 4), buffer);
+        }
+    }
+
+    @Test
+    void endsWithTheLastPartOfAFrame() throws IOException {
+        byte[] expected = readAll(signal(), 4096);
+        byte[] buffer = new byte[4];
+        try (SignalInputStream signal = signal()) {
+            // read up to the last frame, skipping would not advance the phase of the tone
+            byte[] head = new byte[expected.length - 2];
+            for (int off = 0; off < head.length; ) off += signal.read(head, off, head.length - off);
+            assertEquals(1, signal.read(buffer, 0, 1));
+            assertEquals(1, signal.read(buffer, 1, 3));
+            assertArrayEquals(Arrays.copyOfRange(expected, expected.length - 2, expected.length),
+                              Arrays.copyOf(buffer, 2));
+            assertEquals(-1, signal.read(buffer, 0, 4));
+            assertEquals(-1, signal.read(buffer, 0, 1));
+        }
+    }
+
+    @Test
+    void skipsNothingForNegativeCounts() throws IOException {
+        byte[] expected = readAll(signal(), 4096);
+        byte[] buffer = new byte[3];
+        try (SignalInputStream signal = signal()) {
+            assertEquals(0, signal.skip(-1));
+            assertEquals(0, signal.skip(0));
+            // with a split frame pending
+            assertEquals(1, signal.read(buffer, 0, 1));
+            assertEquals(0, signal.skip(-1));
+            assertEquals(0, signal.skip(Long.MIN_VALUE));
+            assertEquals(3, signal.read(buffer, 0, 3));
+            assertArrayEquals(Arrays.copyOfRange(expected, 1, 4), buffer);
+            assertEquals(expected.length - 4, signal.available());
+        }
+    }
+
+    private static SignalInputStream signal() {
+        return new SignalInputStream(LITERALS, PROFILE, FORMAT, 800);
+    }
+
+    private static byte[] readAll(SignalInputStream signal, int len) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[len];
+        int read;
+        while ((read = signal.read(buffer, 0, len)) != -1) {
+            assertTrue(read > 0);
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
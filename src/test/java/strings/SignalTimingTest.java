@@ -0,0 +1,87 @@
+package strings;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvFileSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignalTimingTest {
+
+    @ParameterizedTest
+    @CsvFileSource(resources = "/testdata_get_cleartxt_of_strings.csv")
+    void roundTripMatchesSignalNotation(String key, String value) throws IOException {
+        MorseCode mc = new MorseCode(key, Locale.GERMAN);
+        byte[] timing = write(mc);
+
+        // line separators are keyed as word gaps
+        String signal = mc.getNotation(true).replace(MorseCode.LINE_SEPARATOR,
+                                                     MorseCode.MorseNotation.SIGNAL_WORD_GAP);
+        MorseDecoder decoder = new MorseDecoder(true);
+        String expected = decoder.feed(signal) + decoder.finish();
+        assertEquals(expected, read(timing));
+    }
+
+    @Test
+    void decodesClearText() throws IOException {
+        assertEquals("HELLO WORLD", read(write(new MorseCode("Hello World"))));
+        assertEquals("SOS", read(write(new MorseCode("SOS"))));
+    }
+
+    @Test
+    void isSmallerThanSignalNotation() throws IOException {
+        MorseCode mc = new MorseCode("The quick brown fox jumps over the lazy dog. ".repeat(100));
+        byte[] timing = write(mc);
+        // one byte per run instead of two bytes per dit unit
+        assertTrue(timing.length * 3L < mc.getNotation(true).length() * 2L);
+        assertEquals(mc.getClearText().stripTrailing(), read(timing).stripTrailing());
+    }
+
+    @Test
+    void rejectsInvalidStreams() throws IOException {
+        assertThrows(IOException.class, () -> read(new byte[]{1, 2, 3, 4, 5}));
+        assertThrows(IOException.class, () -> read(new byte[0]));
+
+        byte[] timing = write(new MorseCode("E"));
+        byte[] truncated = Arrays.copyOf(timing, timing.length + 1);
+        truncated[timing.length] = (byte) 0x80;
+        assertThrows(IOException.class, () -> read(truncated));
+        assertThrows(IllegalArgumentException.class, () -> MorseCode.decodeTiming(null));
+    }
+
+    @Test
+    void rejectsOverlongRuns() {
+        // magic number, an empty off run and a mark run of 2^63 - 1 units
+        byte[] timing = {'M', 'K', 'T', '1', 0, -1, -1, -1, -1, -1, -1, -1, -1, 0x7F};
+        assertThrows(IOException.class, () -> read(timing));
+        // 2^64 - 1 units, negative as a long
+        byte[] negative = {'M', 'K', 'T', '1', 0, -1, -1, -1, -1, -1, -1, -1, -1, -1, 0x01};
+        assertThrows(IOException.class, () -> read(negative));
+    }
+
+    @Test
+    void splitsLongGaps() throws IOException {
+        // far more gap units in a row than a single run holds
+        MorseCode mc = new MorseCode(STR."E\{" ".repeat(200)}T");
+        assertEquals(read(write(new MorseCode("E T"))).replace(" ", ""), read(write(mc)).replace(" ", ""));
+        assertEquals(200, read(write(mc)).chars().filter(c -> c == ' ').count());
+    }
+
+    private static byte[] write(MorseCode mc) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = mc.writeTiming(Channels.newChannel(out));
+        assertEquals(out.size(), written);
+        return out.toByteArray();
+    }
+
+    private static String read(byte[] timing) throws IOException {
+        return MorseCode.decodeTiming(Channels.newChannel(new ByteArrayInputStream(timing)));
+    }
+}
@@ -0,0 +1,70 @@
+package strings;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sound.sampled.AudioInputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingProfileTest {
+
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    void standardTiming() {
+        TimingProfile profile = TimingProfile.of(20);
+        assertEquals(0.06, profile.ditSeconds(), EPSILON);
+        assertEquals(0.18, profile.dahSeconds(), EPSILON);
+        assertEquals(0.18, profile.letterGapSeconds(), EPSILON);
+        assertEquals(0.42, profile.wordGapSeconds(), EPSILON);
+    }
+
+    @Test
+    void farnsworthStretchesOnlyTheGaps() {
+        TimingProfile profile = TimingProfile.farnsworth(18, 5);
+        assertEquals(TimingProfile.of(18).ditSeconds(), profile.ditSeconds(), EPSILON);
+        assertEquals(TimingProfile.of(18).dahSeconds(), profile.dahSeconds(), EPSILON);
+        assertTrue(profile.letterGapSeconds() > TimingProfile.of(5).letterGapSeconds());
+
+        // "PARIS " takes one minute divided by the effective speed
+        long samples = new MorseCode("PARIS ").getAudioInputStream(profile, 800).getFrameLength();
+        assertEquals(60.0 / 5, samples / profile.sampleRate(), 0.001);
+    }
+
+    @Test
+    void weightingKeepsTheRhythm() throws IOException {
+        // every mark is followed by a gap that makes up for the weighting
+        MorseCode mc = new MorseCode("PARIS PARIS ");
+        TimingProfile standard = TimingProfile.of(20);
+        TimingProfile heavy = standard.withWeight(70);
+        assertEquals(length(mc, standard), length(mc, heavy));
+        assertEquals(0.06 * 1.4, heavy.seconds(KeyingSequence.Element.DIT, false), EPSILON);
+        assertEquals(0.06 * 0.6, heavy.seconds(KeyingSequence.Element.SYMBOL_GAP, true), EPSILON);
+    }
+
+    @Test
+    void sampleRateAndRatioChangeTheSignal() throws IOException {
+        MorseCode mc = new MorseCode("T");
+        TimingProfile profile = TimingProfile.of(10).withSampleRate(8000).withRatio(4);
+        try (AudioInputStream ais = mc.getAudioInputStream(profile, 800)) {
+            assertEquals(8000, ais.getFormat().getSampleRate());
+            assertEquals(Math.round(4 * 0.12 * 8000), ais.readAllBytes().length);
+        }
+    }
+
+    @Test
+    void rejectsInvalidProfiles() {
+        assertThrows(IllegalArgumentException.class, () -> TimingProfile.of(0));
+        assertThrows(IllegalArgumentException.class, () -> TimingProfile.farnsworth(10, 20));
+        assertThrows(IllegalArgumentException.class, () -> TimingProfile.of(20).withWeight(95));
+        assertThrows(IllegalArgumentException.class, () -> TimingProfile.of(20).withRatio(1));
+        assertThrows(IllegalArgumentException.class, () -> TimingProfile.of(20).withSampleRate(0));
+    }
+
+    private static long length(MorseCode mc, TimingProfile profile) throws IOException {
+        try (AudioInputStream ais = mc.getAudioInputStream(profile, 800)) {
+            return ais.readAllBytes().length;
+        }
+    }
+}
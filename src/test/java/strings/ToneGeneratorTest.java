@@ -0,0 +1,51 @@
+package strings;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ToneGeneratorTest {
+
+    private static final float SAMPLE_RATE = 8000;
+
+    @Test
+    void matchesSineWave() {
+        // 40 ms at 800 Hz, ramps of 5 ms
+        double[] samples = new double[320];
+        new ToneGenerator(SAMPLE_RATE, 800, samples.length).mark(samples, 0, samples.length, 0, samples.length);
+        for (int i = 40; i < samples.length - 40; i++) {
+            assertEquals(Math.sin(2 * Math.PI * 800 * i / SAMPLE_RATE), samples[i], 1e-9);
+        }
+        // faded in and out
+        assertTrue(Math.abs(samples[2]) < 0.01);
+        assertTrue(Math.abs(samples[samples.length - 3]) < 0.01);
+        for (double sample : samples) assertTrue(Math.abs(sample) <= 1.0);
+    }
+
+    @Test
+    void rendersChunksLikeWholeMarks() {
+        double[] whole = new double[500];
+        new ToneGenerator(SAMPLE_RATE, 650, 100).mark(whole, 0, whole.length, 0, whole.length);
+
+        double[] chunked = new double[whole.length];
+        ToneGenerator tone = new ToneGenerator(SAMPLE_RATE, 650, 100);
+        for (int off = 0; off < chunked.length; off += 33) {
+            int count = Math.min(33, chunked.length - off);
+            tone.mark(chunked, off, count, off, chunked.length);
+        }
+        assertArrayEquals(whole, chunked, 1e-12);
+    }
+
+    @Test
+    void limitsRampsToHalfOfTheShortestMark() {
+        // a mark of 20 samples is shorter than two ramps of 5 ms, so ramps take 10 samples each
+        double[] samples = new double[20];
+        new ToneGenerator(SAMPLE_RATE, 2000, samples.length).mark(samples, 0, samples.length, 0, samples.length);
+        double[] plain = new double[samples.length];
+        new ToneGenerator(SAMPLE_RATE, 2000, 0).mark(plain, 0, plain.length, 0, plain.length);
+        for (int i = 0; i < samples.length; i++) {
+            double ramp = 0.5 * (1.0 - Math.cos(Math.PI * (Math.min(i, samples.length - 1 - i) + 0.5) / 10));
+            assertEquals(plain[i] * ramp, samples[i], 1e-9);
+        }
+    }
+}
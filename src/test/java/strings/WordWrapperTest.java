@@ -0,0 +1,70 @@
+package strings;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordWrapperTest {
+
+    // outputs of the former recursive wrapAt, line breaks written as '|'
+    @ParameterizedTest
+    @CsvSource(ignoreLeadingAndTrailingWhitespace = false, value = {
+            "The quick brown fox jumps over the lazy dog,10,The quick |brown fox |jumps over |the lazy |dog",
+            "Hello World,0,Hello|World|",
+            "a  b   c    d,2,a  |b  | c |   |d",
+            "line one|line two is here,6,line |one||line |two is |here",
+            "short,20,short",
+            "Hello World,-6,Hello |World",
+            "abcdefghij,3,abcdefghij|",
+            "'',5,''"
+    })
+    void wrapsLikeWrapAt(String text, int index, String expected) {
+        assertEquals(expected.replace('|', '\n'), StrSandbox.wrapAt(text.replace('|', '\n'), index));
+    }
+
+    @ParameterizedTest
+    @CsvSource(ignoreLeadingAndTrailingWhitespace = false, value = {
+            "The quick brown fox jumps over the lazy dog,3,The |quick|brown|fox |jumps|over|the |lazy|dog",
+            "Supercalifragilistic is long,5,Supercalifragilistic|is |long",
+            "   leading spaces,4,   |leading|spaces|",
+            "abcd,4,abcd"
+    })
+    void keepsTextAfterLongWords(String text, int width, String expected) throws IOException {
+        assertEquals(expected.replace('|', '\n'), new WordWrapper(width).wrap(text, new StringBuilder()).toString());
+    }
+
+    @Test
+    void wrapsReaderLikeCharSequence() throws IOException {
+        // longer than the read buffer, with a word longer than the line
+        String text = "The quick brown fox jumps over the lazy dog. Pneumonoultramicroscopicsilicovolcanoconiosis\n"
+                .repeat(1_000);
+        WordWrapper wrapper = new WordWrapper(37);
+        String expected = wrapper.wrap(text, new StringBuilder()).toString();
+        assertEquals(expected, wrapper.wrap(new StringReader(text), new StringBuilder()).toString());
+    }
+
+    @Test
+    void wrapsLongTextsWithConstantStackDepth() {
+        // one line per word, far more than the stack allows recursive calls
+        String text = "word ".repeat(1_000_000);
+        String wrapped = StrSandbox.wrapAt(text, 4);
+        assertEquals(text.length() + 1_000_000, wrapped.length());
+    }
+
+    @Test
+    void breaksAtUnicodeWhiteSpaceIfAware() throws IOException {
+        // ideographic space and no-break space
+        String text = "東京\u3000大阪\u00A0京都";
+        assertEquals(STR."\{text}\n", new WordWrapper(2).wrap(text, new StringBuilder()).toString());
+        assertEquals("東京\u3000\n大阪\u00A0京都\n",
+                     new WordWrapper(2, true).wrap(text, new StringBuilder()).toString());
+        assertThrows(IllegalArgumentException.class, () -> new WordWrapper(-1));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new WordWrapper(1).wrap((CharSequence) null, new StringBuilder()));
+    }
+}